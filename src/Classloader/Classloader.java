@@ -1,8 +1,10 @@
 package Classloader;
 
+import Encoding_Decoding.Codec;
+
 import java.io.*;
-import org.apache.commons.codec.DecoderException;
-import org.apache.commons.codec.binary.Hex;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 public class Classloader {
 
@@ -16,43 +18,47 @@ public class Classloader {
         try {
             System.out.println("  load bytes from: " + className + ".hex");
 
-            // 1. Hex-Datei lesen und als String laden
-            String content = readString(className + ".hex");
+            // 1. Hex-Datei als ASCII-Bytes lesen (kein Umweg über String und char[])
+            byte[] content = readHexBytes(className + ".hex");
+            int length = hexLength(content);
 
-            // 2. Hex-String in ein Byte-Array konvertieren
+            // 2. Hex-Zeichen direkt in ein Byte-Array dekodieren
             // Jede Hex-Zeichenkombination (z. B. "4F") wird in ein Byte dekodiert
-            byte[] xorBytes = Hex.decodeHex(content.toCharArray());
+            byte[] xorBytes = new byte[length / 2];
+            Codec.decodeHex(content, 0, length, xorBytes, 0);
 
             // 3. Byte-Array mit XOR-Schlüssel (0xCC) entschlüsseln
             byte[] classBytes = xorBytes(xorBytes, 0xCC);
 
             // 4. Entschlüsseltes Byte-Array zurückgeben
             return classBytes;
-        } catch (IOException | DecoderException e) {
+        } catch (IOException | IllegalArgumentException e) {
             // Fehler beim Lesen der Datei oder Dekodieren des Hex-Strings behandeln
             throw new IllegalStateException("Can't read byte array for class " + className, e);
         }
     }
 
     /*
-     * Liest den Hex-String aus der Datei.
+     * Liest die Hex-Datei als Byte-Array.
      * -----------------------------------
      * - Öffnet die angegebene Datei im aktuellen Verzeichnis.
-     * - Liest die Datei zeilenweise (erwartet nur eine Zeile mit Hex-String).
-     * - Gibt die Datei als String zurück.
+     * - Hex-Zeichen sind reines ASCII, daher entspricht jedes Byte genau einem Zeichen.
      */
-    private String readString(String filename) throws IOException {
-        // Erstellt einen BufferedReader, um die Datei effizient zeilenweise zu lesen.
-        BufferedReader reader = new BufferedReader(new FileReader(new File(".", filename)));
-
-        // Liest die erste Zeile (Hex-String), die die verschlüsselten Daten enthält.
-        String content = reader.readLine();
-
-        // Schließt den Reader, um Ressourcen freizugeben.
-        reader.close();
+    private byte[] readHexBytes(String filename) throws IOException {
+        return Files.readAllBytes(Path.of(".", filename));
+    }
 
-        // Gibt den gelesenen Hex-String zurück.
-        return content;
+    /*
+     * Ermittelt die Länge des Hex-Strings.
+     * ------------------------------------
+     * - Die Datei enthält nur eine Zeile, ein abschließender Zeilenumbruch wird ignoriert.
+     */
+    private int hexLength(byte[] content) {
+        int length = 0;
+        while (length < content.length && content[length] != '\n' && content[length] != '\r') {
+            length++;
+        }
+        return length;
     }
 
     /*
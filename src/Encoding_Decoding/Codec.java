@@ -0,0 +1,337 @@
+package Encoding_Decoding;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/*
+ * Klasse: Codec
+ * -------------
+ * Hex- und Base64-Kodierung über Lookup-Tabellen.
+ *
+ * - Alle Methoden schreiben in vom Aufrufer übergebene Ziele (`byte[]`, `char[]`, `ByteBuffer`)
+ *   und erzeugen pro Byte keine Objekte (kein `Integer.toHexString`, kein `toCharArray()`).
+ * - Die Bequemlichkeitsmethoden `toHex` und `toBase64` kodieren in ein ASCII-Byte-Array,
+ *   aus dem der String direkt (Latin-1, ohne Umweg über char[]) erzeugt wird.
+ * - Ungültige Eingaben führen zu einer `IllegalArgumentException`.
+ */
+public final class Codec {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private static final char[] BASE64 =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/".toCharArray();
+
+    // Umkehrtabellen: Zeichen -> Wert, -1 für ungültige Zeichen
+    private static final byte[] HEX_VALUES = new byte[128];
+    private static final byte[] BASE64_VALUES = new byte[128];
+
+    static {
+        Arrays.fill(HEX_VALUES, (byte) -1);
+        for (int i = 0; i < 10; i++) {
+            HEX_VALUES['0' + i] = (byte) i;
+        }
+        for (int i = 0; i < 6; i++) {
+            HEX_VALUES['a' + i] = (byte) (10 + i);
+            HEX_VALUES['A' + i] = (byte) (10 + i);
+        }
+
+        Arrays.fill(BASE64_VALUES, (byte) -1);
+        for (int i = 0; i < BASE64.length; i++) {
+            BASE64_VALUES[BASE64[i]] = (byte) i;
+        }
+    }
+
+    private Codec() {
+    }
+
+    /*
+     * Hex-Kodierung
+     * -------------
+     * Jedes Byte wird zu zwei Zeichen: oberes und unteres Halbbyte (Nibble) über die Tabelle.
+     */
+
+    // Kodiert src[off..off+len) nach dst ab dstOff, liefert die Anzahl geschriebener Zeichen (2 * len).
+    public static int encodeHex(byte[] src, int off, int len, char[] dst, int dstOff) {
+        for (int i = 0; i < len; i++) {
+            int b = src[off + i] & 0xff;
+            dst[dstOff++] = HEX[b >>> 4];
+            dst[dstOff++] = HEX[b & 0x0f];
+        }
+        return len * 2;
+    }
+
+    // Kodiert die verbleibenden Bytes von src als ASCII-Hexzeichen nach dst.
+    public static int encodeHex(ByteBuffer src, ByteBuffer dst) {
+        int len = src.remaining();
+        while (src.hasRemaining()) {
+            int b = src.get() & 0xff;
+            dst.put((byte) HEX[b >>> 4]);
+            dst.put((byte) HEX[b & 0x0f]);
+        }
+        return len * 2;
+    }
+
+    // Kodiert src[off..off+len) als ASCII-Hexzeichen nach dst ab dstOff.
+    public static int encodeHex(byte[] src, int off, int len, byte[] dst, int dstOff) {
+        for (int i = 0; i < len; i++) {
+            int b = src[off + i] & 0xff;
+            dst[dstOff++] = (byte) HEX[b >>> 4];
+            dst[dstOff++] = (byte) HEX[b & 0x0f];
+        }
+        return len * 2;
+    }
+
+    public static String toHex(byte[] bytes) {
+        byte[] ascii = new byte[bytes.length * 2];
+        encodeHex(bytes, 0, bytes.length, ascii, 0);
+        return new String(ascii, StandardCharsets.ISO_8859_1);
+    }
+
+    // Dekodiert einen Hex-String nach dst ab dstOff, liefert die Anzahl geschriebener Bytes.
+    public static int decodeHex(CharSequence src, byte[] dst, int dstOff) {
+        int len = src.length();
+        if ((len & 1) != 0) {
+            throw new IllegalArgumentException("Hex string must have an even length!");
+        }
+        for (int i = 0; i < len; i += 2) {
+            dst[dstOff++] = (byte) (hexValue(src.charAt(i), i) << 4 | hexValue(src.charAt(i + 1), i + 1));
+        }
+        return len / 2;
+    }
+
+    // Dekodiert ASCII-Hexzeichen aus src[off..off+len) nach dst ab dstOff.
+    public static int decodeHex(byte[] src, int off, int len, byte[] dst, int dstOff) {
+        if ((len & 1) != 0) {
+            throw new IllegalArgumentException("Hex input must have an even length!");
+        }
+        for (int i = 0; i < len; i += 2) {
+            dst[dstOff++] = (byte) (hexValue(src[off + i], i) << 4 | hexValue(src[off + i + 1], i + 1));
+        }
+        return len / 2;
+    }
+
+    // Dekodiert die verbleibenden ASCII-Hexzeichen von src nach dst.
+    public static int decodeHex(ByteBuffer src, ByteBuffer dst) {
+        int len = src.remaining();
+        if ((len & 1) != 0) {
+            throw new IllegalArgumentException("Hex input must have an even length!");
+        }
+        for (int i = 0; i < len; i += 2) {
+            dst.put((byte) (hexValue(src.get(), i) << 4 | hexValue(src.get(), i + 1)));
+        }
+        return len / 2;
+    }
+
+    public static byte[] fromHex(CharSequence hex) {
+        byte[] bytes = new byte[hex.length() / 2];
+        decodeHex(hex, bytes, 0);
+        return bytes;
+    }
+
+    private static int hexValue(int c, int index) {
+        int value = c >= 0 && c < 128 ? HEX_VALUES[c] : -1;
+        if (value < 0) {
+            throw new IllegalArgumentException("Invalid hex character at index " + index);
+        }
+        return value;
+    }
+
+    /*
+     * Base64-Kodierung (RFC 4648, Standard-Alphabet mit Padding)
+     * ----------------------------------------------------------
+     * Je 3 Bytes (24 Bit) werden zu 4 Zeichen à 6 Bit. Ein unvollständiger letzter
+     * Block wird mit '=' aufgefüllt - identisch zu `Base64.getEncoder()`.
+     */
+
+    public static int base64Length(int byteCount) {
+        return (byteCount + 2) / 3 * 4;
+    }
+
+    // Kodiert src[off..off+len) nach dst ab dstOff, liefert die Anzahl geschriebener Zeichen.
+    public static int encodeBase64(byte[] src, int off, int len, char[] dst, int dstOff) {
+        int start = dstOff;
+        int end = off + len - len % 3;
+        for (int i = off; i < end; i += 3) {
+            int bits = (src[i] & 0xff) << 16 | (src[i + 1] & 0xff) << 8 | (src[i + 2] & 0xff);
+            dst[dstOff++] = BASE64[bits >>> 18];
+            dst[dstOff++] = BASE64[(bits >>> 12) & 0x3f];
+            dst[dstOff++] = BASE64[(bits >>> 6) & 0x3f];
+            dst[dstOff++] = BASE64[bits & 0x3f];
+        }
+
+        int rest = len % 3;
+        if (rest > 0) {
+            int bits = (src[end] & 0xff) << 16 | (rest == 2 ? (src[end + 1] & 0xff) << 8 : 0);
+            dst[dstOff++] = BASE64[bits >>> 18];
+            dst[dstOff++] = BASE64[(bits >>> 12) & 0x3f];
+            dst[dstOff++] = rest == 2 ? BASE64[(bits >>> 6) & 0x3f] : '=';
+            dst[dstOff++] = '=';
+        }
+        return dstOff - start;
+    }
+
+    // Kodiert src[off..off+len) als ASCII-Base64-Zeichen nach dst ab dstOff.
+    public static int encodeBase64(byte[] src, int off, int len, byte[] dst, int dstOff) {
+        int start = dstOff;
+        int end = off + len - len % 3;
+        for (int i = off; i < end; i += 3) {
+            int bits = (src[i] & 0xff) << 16 | (src[i + 1] & 0xff) << 8 | (src[i + 2] & 0xff);
+            dst[dstOff++] = (byte) BASE64[bits >>> 18];
+            dst[dstOff++] = (byte) BASE64[(bits >>> 12) & 0x3f];
+            dst[dstOff++] = (byte) BASE64[(bits >>> 6) & 0x3f];
+            dst[dstOff++] = (byte) BASE64[bits & 0x3f];
+        }
+
+        int rest = len % 3;
+        if (rest > 0) {
+            int bits = (src[end] & 0xff) << 16 | (rest == 2 ? (src[end + 1] & 0xff) << 8 : 0);
+            dst[dstOff++] = (byte) BASE64[bits >>> 18];
+            dst[dstOff++] = (byte) BASE64[(bits >>> 12) & 0x3f];
+            dst[dstOff++] = (byte) (rest == 2 ? BASE64[(bits >>> 6) & 0x3f] : '=');
+            dst[dstOff++] = '=';
+        }
+        return dstOff - start;
+    }
+
+    // Kodiert die verbleibenden Bytes von src als ASCII-Base64-Zeichen nach dst.
+    public static int encodeBase64(ByteBuffer src, ByteBuffer dst) {
+        int start = dst.position();
+        while (src.remaining() >= 3) {
+            int bits = (src.get() & 0xff) << 16 | (src.get() & 0xff) << 8 | (src.get() & 0xff);
+            dst.put((byte) BASE64[bits >>> 18]);
+            dst.put((byte) BASE64[(bits >>> 12) & 0x3f]);
+            dst.put((byte) BASE64[(bits >>> 6) & 0x3f]);
+            dst.put((byte) BASE64[bits & 0x3f]);
+        }
+
+        int rest = src.remaining();
+        if (rest > 0) {
+            int bits = (src.get() & 0xff) << 16 | (rest == 2 ? (src.get() & 0xff) << 8 : 0);
+            dst.put((byte) BASE64[bits >>> 18]);
+            dst.put((byte) BASE64[(bits >>> 12) & 0x3f]);
+            dst.put((byte) (rest == 2 ? BASE64[(bits >>> 6) & 0x3f] : '='));
+            dst.put((byte) '=');
+        }
+        return dst.position() - start;
+    }
+
+    public static String toBase64(byte[] bytes) {
+        byte[] ascii = new byte[base64Length(bytes.length)];
+        encodeBase64(bytes, 0, bytes.length, ascii, 0);
+        return new String(ascii, StandardCharsets.ISO_8859_1);
+    }
+
+    // Dekodiert einen Base64-String (mit Padding) nach dst ab dstOff, liefert die Anzahl geschriebener Bytes.
+    public static int decodeBase64(CharSequence src, byte[] dst, int dstOff) {
+        int len = src.length();
+        if (len % 4 != 0) {
+            throw new IllegalArgumentException("Base64 input length must be a multiple of 4!");
+        }
+        int start = dstOff;
+        for (int i = 0; i < len; i += 4) {
+            int a = base64Value(src.charAt(i), i);
+            int b = base64Value(src.charAt(i + 1), i + 1);
+            boolean last = i + 4 == len;
+            if (last && src.charAt(i + 2) == '=') {
+                if (src.charAt(i + 3) != '=') {
+                    throw new IllegalArgumentException("Invalid Base64 padding!");
+                }
+                dst[dstOff++] = (byte) (a << 2 | b >>> 4);
+            } else if (last && src.charAt(i + 3) == '=') {
+                int c = base64Value(src.charAt(i + 2), i + 2);
+                dst[dstOff++] = (byte) (a << 2 | b >>> 4);
+                dst[dstOff++] = (byte) (b << 4 | c >>> 2);
+            } else {
+                int bits = a << 18 | b << 12 | base64Value(src.charAt(i + 2), i + 2) << 6
+                        | base64Value(src.charAt(i + 3), i + 3);
+                dst[dstOff++] = (byte) (bits >>> 16);
+                dst[dstOff++] = (byte) (bits >>> 8);
+                dst[dstOff++] = (byte) bits;
+            }
+        }
+        return dstOff - start;
+    }
+
+    // Dekodiert ASCII-Base64-Zeichen (mit Padding) aus src[off..off+len) nach dst ab dstOff.
+    public static int decodeBase64(byte[] src, int off, int len, byte[] dst, int dstOff) {
+        if (len % 4 != 0) {
+            throw new IllegalArgumentException("Base64 input length must be a multiple of 4!");
+        }
+        int start = dstOff;
+        for (int i = 0; i < len; i += 4) {
+            int p = off + i;
+            int a = base64Value(src[p], i);
+            int b = base64Value(src[p + 1], i + 1);
+            boolean last = i + 4 == len;
+            if (last && src[p + 2] == '=') {
+                if (src[p + 3] != '=') {
+                    throw new IllegalArgumentException("Invalid Base64 padding!");
+                }
+                dst[dstOff++] = (byte) (a << 2 | b >>> 4);
+            } else if (last && src[p + 3] == '=') {
+                int c = base64Value(src[p + 2], i + 2);
+                dst[dstOff++] = (byte) (a << 2 | b >>> 4);
+                dst[dstOff++] = (byte) (b << 4 | c >>> 2);
+            } else {
+                int bits = a << 18 | b << 12 | base64Value(src[p + 2], i + 2) << 6
+                        | base64Value(src[p + 3], i + 3);
+                dst[dstOff++] = (byte) (bits >>> 16);
+                dst[dstOff++] = (byte) (bits >>> 8);
+                dst[dstOff++] = (byte) bits;
+            }
+        }
+        return dstOff - start;
+    }
+
+    // Dekodiert die verbleibenden ASCII-Base64-Zeichen (mit Padding) von src nach dst.
+    public static int decodeBase64(ByteBuffer src, ByteBuffer dst) {
+        int len = src.remaining();
+        if (len % 4 != 0) {
+            throw new IllegalArgumentException("Base64 input length must be a multiple of 4!");
+        }
+        int start = dst.position();
+        for (int i = 0; i < len; i += 4) {
+            int a = base64Value(src.get(), i);
+            int b = base64Value(src.get(), i + 1);
+            byte third = src.get();
+            byte fourth = src.get();
+            boolean last = i + 4 == len;
+            if (last && third == '=') {
+                if (fourth != '=') {
+                    throw new IllegalArgumentException("Invalid Base64 padding!");
+                }
+                dst.put((byte) (a << 2 | b >>> 4));
+            } else if (last && fourth == '=') {
+                int c = base64Value(third, i + 2);
+                dst.put((byte) (a << 2 | b >>> 4));
+                dst.put((byte) (b << 4 | c >>> 2));
+            } else {
+                int bits = a << 18 | b << 12 | base64Value(third, i + 2) << 6 | base64Value(fourth, i + 3);
+                dst.put((byte) (bits >>> 16));
+                dst.put((byte) (bits >>> 8));
+                dst.put((byte) bits);
+            }
+        }
+        return dst.position() - start;
+    }
+
+    public static byte[] fromBase64(CharSequence base64) {
+        int len = base64.length();
+        if (len % 4 != 0) {
+            throw new IllegalArgumentException("Base64 input length must be a multiple of 4!");
+        }
+        int padding = len > 0 && base64.charAt(len - 1) == '=' ? (len > 1 && base64.charAt(len - 2) == '=' ? 2 : 1) : 0;
+        byte[] bytes = new byte[len / 4 * 3 - padding];
+        decodeBase64(base64, bytes, 0);
+        return bytes;
+    }
+
+    private static int base64Value(int c, int index) {
+        int value = c >= 0 && c < 128 ? BASE64_VALUES[c] : -1;
+        if (value < 0) {
+            throw new IllegalArgumentException("Invalid Base64 character at index " + index);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,117 @@
+package Encoding_Decoding;
+
+import org.apache.commons.codec.binary.Hex;
+
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Random;
+
+/*
+ * Vergleicht `Codec` mit den bisher verwendeten Implementierungen.
+ * ----------------------------------------------------------------
+ * Aufruf: java Encoding_Decoding.CodecBenchmark [Eingabegröße in Bytes] [Iterationen]
+ *
+ * - Hex kodieren:   bisheriges `bytesToHex` (Integer.toHexString pro Byte) vs. `Codec.encodeHex`
+ * - Hex dekodieren: commons-codec `Hex.decodeHex(String.toCharArray())` vs. `Codec.decodeHex`
+ * - Base64:         `Base64.getEncoder().encodeToString` vs. `Codec.toBase64` / `Codec.encodeBase64`
+ * - Base64 dekodieren: `Base64.getDecoder().decode(byte[])` vs. `Codec.decodeBase64` (byte[] und ByteBuffer)
+ *
+ * Ausgegeben werden ns pro Aufruf und allokierte Bytes pro Aufruf
+ * (gemessen über `com.sun.management.ThreadMXBean.getThreadAllocatedBytes`).
+ */
+public class CodecBenchmark {
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    // Verhindert, dass der JIT-Compiler die Ergebnisse als unbenutzt wegoptimiert
+    private static long blackhole;
+
+    public static void main(String[] args) throws Exception {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 32;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+
+        byte[] input = new byte[size];
+        new Random(42).nextBytes(input);
+        String hex = Codec.toHex(input);
+        char[] chars = new char[Math.max(size * 2, Codec.base64Length(size))];
+        byte[] bytes = new byte[size];
+        byte[] base64 = Codec.toBase64(input).getBytes(StandardCharsets.US_ASCII);
+        ByteBuffer base64Buffer = ByteBuffer.allocateDirect(base64.length);
+        ByteBuffer bytesBuffer = ByteBuffer.allocateDirect(size);
+
+        if (!hex.equals(legacyBytesToHex(input))
+                || !Codec.toBase64(input).equals(Base64.getEncoder().encodeToString(input))
+                || !Arrays.equals(Codec.fromHex(hex), Hex.decodeHex(hex.toCharArray()))
+                || Codec.decodeBase64(base64, 0, base64.length, bytes, 0) != size
+                || !Arrays.equals(bytes, input)
+                || Codec.encodeBase64(ByteBuffer.wrap(input), base64Buffer.clear()) != base64.length
+                || Codec.decodeBase64(base64Buffer.flip(), bytesBuffer.clear()) != size
+                || !bytesBuffer.flip().equals(ByteBuffer.wrap(input))) {
+            throw new IllegalStateException("Codec weicht von der Referenzimplementierung ab!");
+        }
+
+        System.out.printf("Eingabe: %d Bytes, %d Iterationen%n", size, iterations);
+        run("hex encode  (alt)", iterations, () -> blackhole += legacyBytesToHex(input).length());
+        run("hex encode  (Codec, String)", iterations, () -> blackhole += Codec.toHex(input).length());
+        run("hex encode  (Codec, char[])", iterations,
+                () -> blackhole += Codec.encodeHex(input, 0, input.length, chars, 0));
+        run("hex decode  (commons-codec)", iterations,
+                () -> blackhole += Hex.decodeHex(hex.toCharArray()).length);
+        run("hex decode  (Codec, byte[])", iterations, () -> blackhole += Codec.decodeHex(hex, bytes, 0));
+        run("base64      (java.util)", iterations,
+                () -> blackhole += Base64.getEncoder().encodeToString(input).length());
+        run("base64      (Codec, String)", iterations, () -> blackhole += Codec.toBase64(input).length());
+        run("base64      (Codec, char[])", iterations,
+                () -> blackhole += Codec.encodeBase64(input, 0, input.length, chars, 0));
+        run("base64      (Codec, ByteBuffer)", iterations,
+                () -> blackhole += Codec.encodeBase64(ByteBuffer.wrap(input), base64Buffer.clear()));
+        run("base64 dec  (java.util)", iterations, () -> blackhole += Base64.getDecoder().decode(base64).length);
+        run("base64 dec  (Codec, byte[])", iterations,
+                () -> blackhole += Codec.decodeBase64(base64, 0, base64.length, bytes, 0));
+        run("base64 dec  (Codec, ByteBuffer)", iterations,
+                () -> blackhole += Codec.decodeBase64(base64Buffer.rewind(), bytesBuffer.clear()));
+
+        if (blackhole == 42) {
+            System.out.println();
+        }
+    }
+
+    private static void run(String name, int iterations, Task task) throws Exception {
+        // Aufwärmphase für den JIT-Compiler
+        for (int i = 0; i < iterations / 10; i++) {
+            task.run();
+        }
+
+        long allocatedBefore = THREADS.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            task.run();
+        }
+        long nanos = System.nanoTime() - start;
+        long allocated = THREADS.getCurrentThreadAllocatedBytes() - allocatedBefore;
+
+        System.out.printf("%-30s %9.1f ns/op %9.1f B/op%n",
+                name, (double) nanos / iterations, (double) allocated / iterations);
+    }
+
+    // Die bisherige Implementierung aus HMAC.Hmac
+    private static String legacyBytesToHex(byte[] bytes) {
+        StringBuilder hexString = new StringBuilder();
+        for (byte b : bytes) {
+            String hex = Integer.toHexString(0xff & b);
+            if (hex.length() == 1) {
+                hexString.append('0');
+            }
+            hexString.append(hex);
+        }
+        return hexString.toString();
+    }
+
+    private interface Task {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,102 @@
+package Encoding_Decoding;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Random;
+
+/*
+ * Vergleicht das bisherige String-Hashing mit den allokationsfreien Varianten in `Encoding`.
+ * -----------------------------------------------------------------------------------------
+ * Aufruf: java Encoding_Decoding.DigestBenchmark [Länge des Strings] [Iterationen]
+ *
+ * - alt:      `MessageDigest.getInstance` + `String.getBytes` + `Base64.getEncoder` pro Aufruf
+ * - String:   `Encoding.sha256AsBase64String` (Digest und Encoder pro Thread)
+ * - byte[]:   `Encoding.sha256(CharSequence, byte[], int)` in ein vorhandenes Array
+ * - char[]:   `Encoding.sha256AsBase64(CharSequence, char[], int)` Base64 in ein vorhandenes Array
+ *
+ * Ausgegeben werden ns pro Aufruf und allokierte Bytes pro Aufruf
+ * (gemessen über `com.sun.management.ThreadMXBean.getThreadAllocatedBytes`).
+ */
+public class DigestBenchmark {
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    // Verhindert, dass der JIT-Compiler die Ergebnisse als unbenutzt wegoptimiert
+    private static long blackhole;
+
+    public static void main(String[] args) throws Exception {
+        int length = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+
+        String message = randomText(length);
+        byte[] digest = new byte[32];
+        char[] base64 = new char[Codec.base64Length(digest.length)];
+
+        // Alle Varianten müssen dasselbe Ergebnis liefern, auch für Nicht-ASCII-Zeichen
+        for (String text : new String[] { message, "Grüße, 東京 😀", "x\uD800y" }) {
+            String expected = legacySha256(text);
+            Encoding.sha256(text, digest, 0);
+            Encoding.sha256AsBase64(text, base64, 0);
+            if (!expected.equals(Encoding.sha256AsBase64String(text))
+                    || !expected.equals(Codec.toBase64(digest))
+                    || !expected.equals(new String(base64))) {
+                throw new IllegalStateException("Encoding weicht von der Referenzimplementierung ab!");
+            }
+        }
+        if (!Arrays.equals(digest, MessageDigest.getInstance("SHA-256").digest("x?y".getBytes(StandardCharsets.UTF_8)))) {
+            throw new IllegalStateException("Ungültige Zeichen werden anders ersetzt als von String.getBytes!");
+        }
+
+        System.out.printf("String: %d Zeichen, %d Iterationen%n", length, iterations);
+        run("sha256 base64 (alt)", iterations, () -> blackhole += legacySha256(message).length());
+        run("sha256 base64 (String)", iterations, () -> blackhole += Encoding.sha256AsBase64String(message).length());
+        run("sha256        (byte[])", iterations, () -> blackhole += Encoding.sha256(message, digest, 0));
+        run("sha256 base64 (char[])", iterations, () -> blackhole += Encoding.sha256AsBase64(message, base64, 0));
+
+        if (blackhole == 42) {
+            System.out.println();
+        }
+    }
+
+    private static void run(String name, int iterations, Task task) throws Exception {
+        // Aufwärmphase für den JIT-Compiler
+        for (int i = 0; i < iterations / 10; i++) {
+            task.run();
+        }
+
+        long allocatedBefore = THREADS.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            task.run();
+        }
+        long nanos = System.nanoTime() - start;
+        long allocated = THREADS.getCurrentThreadAllocatedBytes() - allocatedBefore;
+
+        System.out.printf("%-30s %9.1f ns/op %9.1f B/op%n",
+                name, (double) nanos / iterations, (double) allocated / iterations);
+    }
+
+    // Die bisherige Implementierung von `Encoding.sha256AsBase64String`
+    private static String legacySha256(String message) throws Exception {
+        MessageDigest algorithm = MessageDigest.getInstance("SHA-256");
+        algorithm.update(message.getBytes("UTF-8"));
+        return Base64.getEncoder().encodeToString(algorithm.digest());
+    }
+
+    private static String randomText(int length) {
+        Random random = new Random(42);
+        StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            text.append((char) ('a' + random.nextInt(26)));
+        }
+        return text.toString();
+    }
+
+    private interface Task {
+        void run() throws Exception;
+    }
+}
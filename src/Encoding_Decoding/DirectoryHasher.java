@@ -0,0 +1,378 @@
+package Encoding_Decoding;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/*
+ * Klasse: DirectoryHasher
+ * -----------------------
+ * Berechnet SHA-256-Hashes aller Dateien eines Verzeichnisbaums und einen gemeinsamen Wurzel-Hash.
+ *
+ * - Die Dateien werden parallel auf einem Fork/Join-Pool gehasht (`Encoding.sha256Digest`).
+ * - Das Ergebnis wird in einem Manifest gespeichert, eine Zeile pro Datei:
+ *       Hash (Base64) TAB Größe TAB Änderungszeit (ns seit 1970) TAB relativer Pfad
+ * - Beim nächsten Lauf werden nur Dateien neu gehasht, deren Größe oder Änderungszeit sich
+ *   geändert hat. Alle anderen Hashes werden aus dem Manifest übernommen.
+ * - Wurzel-Hash = SHA-256 über alle Dateien, sortiert nach Pfad: Pfad (UTF-8) || 0x00 || Hash (32 Byte).
+ *   Er ändert sich, sobald eine Datei hinzukommt, wegfällt, umbenannt oder verändert wird.
+ *
+ * Eine Datei, die im selben Zeitstempel-Intervall wie der letzte Lauf geändert wurde, hätte
+ * unter Umständen dieselbe Änderungszeit wie im Manifest. Deshalb wird ein Eintrag nur
+ * übernommen, wenn die Datei vor dem Start des letzten Laufs zuletzt geändert wurde.
+ *
+ * Dateien, die während des Laufs gelöscht werden, und Pfade mit Zeilenumbrüchen (im Manifest nicht
+ * darstellbar) brechen den Lauf nicht ab: sie werden übersprungen, gehen nicht in den Wurzel-Hash
+ * ein und stehen in `Result.getSkipped()`.
+ */
+public class DirectoryHasher {
+
+    private static final String MANIFEST_HEADER = "# DirectoryHasher v1 ";
+
+    private final ForkJoinPool pool;
+
+    public DirectoryHasher() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public DirectoryHasher(ForkJoinPool pool) {
+        if (pool == null) {
+            throw new IllegalArgumentException("Pool must not be null!");
+        }
+        this.pool = pool;
+    }
+
+    /*
+     * Hasht den Verzeichnisbaum.
+     *
+     * @param root     das Verzeichnis
+     * @param manifest Manifest-Datei (wird gelesen, falls vorhanden, und danach neu geschrieben);
+     *                 null = ohne Cache
+     */
+    public Result hash(Path root, Path manifest) {
+        if (root == null || !Files.isDirectory(root)) {
+            throw new IllegalArgumentException("Not a directory: " + root);
+        }
+
+        long scanStart = System.currentTimeMillis() * 1_000_000L;
+        Manifest previous = manifest != null ? readManifest(manifest) : Manifest.EMPTY;
+        Path excluded = manifest != null ? manifest.toAbsolutePath().normalize() : null;
+
+        LongAdder hashed = new LongAdder();
+        LongAdder reused = new LongAdder();
+        Queue<String> skipped = new ConcurrentLinkedQueue<>();
+        List<Entry> entries;
+        try {
+            List<Path> paths = listFiles(root, excluded, skipped);
+            entries = pool.submit(() -> paths.parallelStream()
+                    .map(path -> entryFor(root, path, previous, hashed, reused, skipped))
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList())).get();
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to walk directory " + root, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Hashing was interrupted!", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Unable to hash directory " + root, e.getCause());
+        }
+
+        entries.sort((a, b) -> a.path.compareTo(b.path));
+        List<String> skippedPaths = new ArrayList<>(skipped);
+        Collections.sort(skippedPaths);
+        Result result = new Result(entries, rootDigest(entries), hashed.sum(), reused.sum(), skippedPaths);
+        if (manifest != null) {
+            writeManifest(manifest, scanStart, entries);
+        }
+        return result;
+    }
+
+    /*
+     * Sammelt alle regulären Dateien (auch über symbolische Links erreichbare) außer dem Manifest.
+     * Verschwindet eine Datei oder ein Verzeichnis während des Durchlaufs, wird es übersprungen,
+     * statt den ganzen Lauf abzubrechen (wie es `Files.walk` tun würde).
+     */
+    private static List<Path> listFiles(Path root, Path excluded, Queue<String> skipped) throws IOException {
+        List<Path> paths = new ArrayList<>();
+        Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+                if ((attributes.isRegularFile() || attributes.isSymbolicLink() && Files.isRegularFile(file))
+                        && (excluded == null || !file.toAbsolutePath().normalize().equals(excluded))) {
+                    paths.add(file);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException e) throws IOException {
+                if (e instanceof NoSuchFileException) {
+                    skipped.add(relativePath(root, file));
+                    return FileVisitResult.CONTINUE;
+                }
+                throw e;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(Path dir, IOException e) throws IOException {
+                if (e != null && !(e instanceof NoSuchFileException)) {
+                    throw e;
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return paths;
+    }
+
+    // Liefert null, wenn die Datei übersprungen wird (gelöscht oder Pfad nicht darstellbar).
+    private static Entry entryFor(Path root, Path path, Manifest previous, LongAdder hashed, LongAdder reused,
+                                  Queue<String> skipped) {
+        String relative = relativePath(root, path);
+        if (relative.indexOf('\n') >= 0 || relative.indexOf('\r') >= 0) {
+            skipped.add(relative);
+            return null;
+        }
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            long size = attributes.size();
+            long modified = attributes.lastModifiedTime().to(TimeUnit.NANOSECONDS);
+
+            Entry cached = previous.entries.get(relative);
+            if (cached != null && cached.size == size && cached.modified == modified && modified < previous.scanStart) {
+                reused.increment();
+                return cached;
+            }
+            byte[] hash = Encoding.sha256Digest(path, false);
+            hashed.increment();
+            return new Entry(relative, size, modified, hash);
+        } catch (NoSuchFileException e) {
+            skipped.add(relative);
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (IllegalStateException e) {
+            // `Encoding.sha256Digest` verpackt die IOException
+            if (e.getCause() instanceof NoSuchFileException) {
+                skipped.add(relative);
+                return null;
+            }
+            throw e;
+        }
+    }
+
+    /*
+     * Relativer Pfad mit '/' zwischen den Namensteilen, auf jedem Betriebssystem gleich.
+     * Kein `replace('\\', '/')`: Unter POSIX ist der Backslash ein normales Zeichen im
+     * Dateinamen, "a\b" und "a/b" bekämen sonst denselben Schlüssel im Manifest und im Wurzel-Hash.
+     */
+    private static String relativePath(Path root, Path path) {
+        StringBuilder relative = new StringBuilder();
+        for (Path name : root.relativize(path)) {
+            if (relative.length() > 0) {
+                relative.append('/');
+            }
+            relative.append(name);
+        }
+        return relative.toString();
+    }
+
+    private static byte[] rootDigest(List<Entry> entries) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (Entry entry : entries) {
+                digest.update(entry.path.getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+                digest.update(entry.hash);
+            }
+            return digest.digest();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalArgumentException("Error computing SHA-256 hash", e);
+        }
+    }
+
+    /*
+     * Manifest lesen und schreiben
+     * ----------------------------
+     */
+
+    private static Manifest readManifest(Path manifest) {
+        try (BufferedReader reader = Files.newBufferedReader(manifest, StandardCharsets.UTF_8)) {
+            String header = reader.readLine();
+            if (header == null || !header.startsWith(MANIFEST_HEADER)) {
+                return Manifest.EMPTY;
+            }
+            long scanStart = Long.parseLong(header.substring(MANIFEST_HEADER.length()));
+
+            Map<String, Entry> entries = new HashMap<>();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split("\t", 4);
+                if (fields.length == 4) {
+                    entries.put(fields[3], new Entry(fields[3], Long.parseLong(fields[1]),
+                            Long.parseLong(fields[2]), Codec.fromBase64(fields[0])));
+                }
+            }
+            return new Manifest(scanStart, entries);
+        } catch (IOException | IllegalArgumentException e) {
+            // Fehlendes oder unlesbares Manifest: alles neu hashen
+            return Manifest.EMPTY;
+        }
+    }
+
+    // Schreibt das Manifest über eine temporäre Datei und benennt sie atomar um.
+    private static void writeManifest(Path manifest, long scanStart, List<Entry> entries) {
+        Path parent = manifest.toAbsolutePath().getParent();
+        try {
+            Path temp = Files.createTempFile(parent, "." + manifest.getFileName(), ".tmp");
+            try {
+                try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                    writer.write(MANIFEST_HEADER + scanStart);
+                    writer.newLine();
+                    for (Entry entry : entries) {
+                        writer.write(Codec.toBase64(entry.hash) + '\t' + entry.size + '\t' + entry.modified + '\t' + entry.path);
+                        writer.newLine();
+                    }
+                }
+                Files.move(temp, manifest, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to write manifest " + manifest, e);
+        }
+    }
+
+    /*
+     * Aufruf: java Encoding_Decoding.DirectoryHasher <Verzeichnis> [Manifest]
+     * Gibt den Wurzel-Hash, die Anzahl neu gehashter und übernommener Dateien und die Laufzeit aus.
+     */
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.out.println("Aufruf: java Encoding_Decoding.DirectoryHasher <Verzeichnis> [Manifest]");
+            return;
+        }
+        long start = System.nanoTime();
+        Result result = new DirectoryHasher().hash(Path.of(args[0]), args.length > 1 ? Path.of(args[1]) : null);
+        System.out.printf("%s  (%d Dateien, %d gehasht, %d aus Manifest, %d übersprungen, %.2f s)%n",
+                result.getRootDigestBase64(), result.getEntries().size(), result.getHashedCount(),
+                result.getReusedCount(), result.getSkipped().size(), (System.nanoTime() - start) / 1e9);
+    }
+
+    private static final class Manifest {
+        static final Manifest EMPTY = new Manifest(Long.MIN_VALUE, Collections.emptyMap());
+
+        final long scanStart;
+        final Map<String, Entry> entries;
+
+        Manifest(long scanStart, Map<String, Entry> entries) {
+            this.scanStart = scanStart;
+            this.entries = entries;
+        }
+    }
+
+    /*
+     * Eine Datei im Manifest.
+     */
+    public static final class Entry {
+        private final String path;
+        private final long size;
+        private final long modified;
+        private final byte[] hash;
+
+        Entry(String path, long size, long modified, byte[] hash) {
+            this.path = path;
+            this.size = size;
+            this.modified = modified;
+            this.hash = hash;
+        }
+
+        // Pfad relativ zum Wurzelverzeichnis, mit '/' getrennt
+        public String getPath() {
+            return path;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        // Änderungszeit in Nanosekunden seit 1970
+        public long getModified() {
+            return modified;
+        }
+
+        public byte[] getHash() {
+            return hash.clone();
+        }
+    }
+
+    /*
+     * Ergebnis eines Laufs.
+     */
+    public static final class Result {
+        private final List<Entry> entries;
+        private final byte[] rootDigest;
+        private final long hashedCount;
+        private final long reusedCount;
+        private final List<String> skipped;
+
+        Result(List<Entry> entries, byte[] rootDigest, long hashedCount, long reusedCount, List<String> skipped) {
+            this.entries = Collections.unmodifiableList(new ArrayList<>(entries));
+            this.rootDigest = rootDigest;
+            this.hashedCount = hashedCount;
+            this.reusedCount = reusedCount;
+            this.skipped = Collections.unmodifiableList(new ArrayList<>(skipped));
+        }
+
+        // Alle Dateien, sortiert nach Pfad
+        public List<Entry> getEntries() {
+            return entries;
+        }
+
+        public byte[] getRootDigest() {
+            return rootDigest.clone();
+        }
+
+        public String getRootDigestBase64() {
+            return Codec.toBase64(rootDigest);
+        }
+
+        // Anzahl der in diesem Lauf gehashten Dateien
+        public long getHashedCount() {
+            return hashedCount;
+        }
+
+        // Anzahl der aus dem Manifest übernommenen Hashes
+        public long getReusedCount() {
+            return reusedCount;
+        }
+
+        // Übersprungene Dateien (während des Laufs gelöscht oder mit Zeilenumbruch im Pfad), sortiert
+        public List<String> getSkipped() {
+            return skipped;
+        }
+    }
+}
@@ -1,12 +1,71 @@
 package Encoding_Decoding;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
-import java.util.Base64;
 
 public class Encoding {
 
+    // Lesepuffer für das Hashen von Dateien, ein Direct-Buffer pro Thread
+    static final int BUFFER_SIZE = 256 * 1024;
+    private static final ThreadLocal<ByteBuffer> BUFFER =
+            ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(BUFFER_SIZE));
+
+    // Fenstergröße für den Memory-Mapped-Modus
+    static final long MAP_WINDOW = 64L * 1024 * 1024;
+
+    static final int DIGEST_LENGTH = 32;
+
+    /*
+     * Ein SHA-256-Digest pro Thread. `MessageDigest.getInstance()` durchsucht bei jedem Aufruf die
+     * Provider-Liste; stattdessen wird einmal ein Prototyp erzeugt und pro Thread geklont.
+     * Nach `digest()` ist ein MessageDigest wieder zurückgesetzt und kann weiterverwendet werden.
+     */
+    private static final MessageDigest PROTOTYPE = newSha256();
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return (MessageDigest) PROTOTYPE.clone();
+        } catch (CloneNotSupportedException e) {
+            return newSha256();
+        }
+    });
+
+    // Zwischenpuffer pro Thread für die Methoden, die einen String liefern
+    private static final ThreadLocal<byte[]> DIGEST_BUFFER = ThreadLocal.withInitial(() -> new byte[DIGEST_LENGTH]);
+
+    /*
+     * Puffer pro Thread für die UTF-8-Kodierung von Strings. Lange Strings werden abschnittsweise
+     * (je UTF8_CHUNK Zeichen) kodiert und an den Digest übergeben, die Puffer wachsen also nie.
+     */
+    private static final int UTF8_CHUNK = 4096;
+    private static final ThreadLocal<char[]> CHAR_BUFFER = ThreadLocal.withInitial(() -> new char[UTF8_CHUNK]);
+    private static final ThreadLocal<byte[]> UTF8_BUFFER = ThreadLocal.withInitial(() -> new byte[UTF8_CHUNK * 3]);
+
+    /*
+     * Digest des Threads, zurückgesetzt. Bricht ein Aufruf mitten im Hashen ab (Exception beim
+     * Lesen oder aus `charAt`), bliebe sonst ein halber Zustand für den nächsten Aufruf stehen.
+     * Wird auch von `TreeHash` und `IncrementalHasher` verwendet; der Digest darf also nicht über
+     * einen Aufruf einer anderen Hash-Methode hinweg gehalten werden.
+     */
+    static MessageDigest sha256Instance() {
+        MessageDigest algorithm = SHA256.get();
+        algorithm.reset();
+        return algorithm;
+    }
+
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalArgumentException("Error computing SHA-256 hash", e);
+        }
+    }
+
     /*
      * Berechnet den SHA-256-Hash eines Eingabestrings und gibt ihn Base64-kodiert zurück.
      */
@@ -16,30 +75,103 @@ public class Encoding {
             throw new IllegalArgumentException("Message must not be null or empty!");
         }
 
-        try {
-            // 2. SHA-256-Algorithmus instanziieren
-            MessageDigest algorithm = MessageDigest.getInstance("SHA-256");
-
-            // 3. Eingabestring in UTF-8-Byte-Array konvertieren und dem Algorithmus übergeben
-            algorithm.update(message.getBytes("UTF-8"));
+        // 2. Hash in den Puffer des Threads schreiben und Base64-kodiert zurückgeben
+        byte[] digest = DIGEST_BUFFER.get();
+        sha256(message, digest, 0);
+        return Codec.toBase64(digest);
+    }
 
-            // 4. Hash berechnen (als Byte-Array)
-            byte[] bytes = algorithm.digest();
+    /*
+     * Berechnet den SHA-256-Hash eines Eingabestrings (UTF-8) und schreibt die 32 Bytes
+     * ab `offset` in `out`. Es wird kein Objekt auf dem Heap angelegt:
+     * - der String wird abschnittsweise in die Puffer des Threads kodiert,
+     * - der `MessageDigest` des Threads wird wiederverwendet.
+     *
+     * @return Anzahl geschriebener Bytes (32)
+     */
+    public static int sha256(CharSequence message, byte[] out, int offset) {
+        if (message == null) {
+            throw new IllegalArgumentException("Message must not be null!");
+        }
+        checkTarget(out, offset, DIGEST_LENGTH);
 
-            // 5. Base64-kodierten String aus dem Byte-Array erzeugen
-            return Base64.getEncoder().encodeToString(bytes);
+        MessageDigest algorithm = sha256Instance();
+        updateUtf8(algorithm, message);
+        return digestInto(algorithm, out, offset);
+    }
 
-        } catch (NoSuchAlgorithmException | UnsupportedEncodingException e) {
-            // 6. Falls der Algorithmus oder die Kodierung nicht unterstützt wird, Exception werfen
-            throw new IllegalArgumentException("Error computing SHA-256 hash", e);
+    /*
+     * Wie `sha256(CharSequence, byte[], int)`, das Ergebnis wird aber direkt Base64-kodiert in
+     * `out` geschrieben.
+     *
+     * @return Anzahl geschriebener Zeichen (44)
+     */
+    public static int sha256AsBase64(CharSequence message, char[] out, int offset) {
+        if (out == null || offset < 0 || offset > out.length - Codec.base64Length(DIGEST_LENGTH)) {
+            throw new IllegalArgumentException("Target array is too small!");
         }
+        byte[] digest = DIGEST_BUFFER.get();
+        sha256(message, digest, 0);
+        return Codec.encodeBase64(digest, 0, DIGEST_LENGTH, out, offset);
     }
 
     /*
      * Berechnet den SHA-256-Hash des Inhalts einer Datei.
      * Der Hash wird als Base64-kodierter String zurückgegeben.
+     *
+     * Die Datei wird blockweise über einen `FileChannel` in einen pro Thread wiederverwendeten
+     * Direct-Buffer gelesen. Der Speicherbedarf ist unabhängig von der Dateigröße, auch Dateien
+     * über 2 GB werden vollständig gelesen.
      */
     public static String sha256(File file) {
+        return Codec.toBase64(sha256Digest(checkFile(file).toPath(), false));
+    }
+
+    /*
+     * Wie `sha256(File)`, die Datei wird aber abschnittsweise per `FileChannel.map()` eingeblendet
+     * und direkt aus dem Page Cache gehasht (lohnt sich vor allem bei großen Dateien).
+     */
+    public static String sha256Mapped(File file) {
+        return Codec.toBase64(sha256Digest(checkFile(file).toPath(), true));
+    }
+
+    /*
+     * Berechnet den SHA-256-Hash einer Datei als Byte-Array (32 Byte).
+     *
+     * @param mapped true = Memory-Mapping, false = Lesen in einen Direct-Buffer
+     */
+    public static byte[] sha256Digest(Path path, boolean mapped) {
+        if (path == null) {
+            throw new IllegalArgumentException("Path is null!");
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MessageDigest algorithm = sha256Instance();
+            if (mapped) {
+                // 1. Datei fensterweise einblenden und dem Algorithmus übergeben
+                long size = channel.size();
+                for (long position = 0; position < size; position += MAP_WINDOW) {
+                    algorithm.update(channel.map(FileChannel.MapMode.READ_ONLY, position,
+                            Math.min(MAP_WINDOW, size - position)));
+                }
+            } else {
+                // 1. Blockweise lesen, bis das Dateiende erreicht ist (kurze Reads sind erlaubt)
+                ByteBuffer buffer = BUFFER.get();
+                buffer.clear();
+                while (channel.read(buffer) != -1) {
+                    algorithm.update(buffer.flip());
+                    buffer.clear();
+                }
+            }
+
+            // 2. Hash berechnen
+            return algorithm.digest();
+        } catch (IOException e) {
+            throw new IllegalStateException("Can't read file: " + path.toAbsolutePath(), e);
+        }
+    }
+
+    private static File checkFile(File file) {
         // 1. Überprüfen, ob die Datei null ist
         if (file == null) {
             throw new IllegalArgumentException("File is null!");
@@ -49,45 +181,116 @@ public class Encoding {
         if (!file.exists()) {
             throw new IllegalArgumentException("File " + file.getAbsolutePath() + " does not exist!");
         }
+        return file;
+    }
 
-        // 3. Dateiinhalt lesen und SHA-256-Hash berechnen
-        try (InputStream in = new FileInputStream(file)) {
-            // Dateigröße ermitteln und Byte-Array erstellen
-            int length = (int) file.length();
-            byte[] content = new byte[length];
+    /*
+     * Berechnet den SHA-256-Hash eines Byte-Arrays.
+     * Gibt den Base64-kodierten Hash zurück.
+     */
+    public static String sha256(byte[] content) {
+        if (content == null) {
+            throw new IllegalArgumentException("Content must not be null!");
+        }
 
-            // Dateiinhalt in das Byte-Array lesen
-            in.read(content);
+        // Hash mit dem Digest des Threads berechnen und Base64-kodiert zurückgeben
+        byte[] digest = DIGEST_BUFFER.get();
+        sha256(content, 0, content.length, digest, 0);
+        return Codec.toBase64(digest);
+    }
 
-            // Hash berechnen (delegiert an eine andere Methode)
-            return sha256(content);
-        } catch (IOException e) {
-            // Fehler beim Lesen der Datei behandeln
-            throw new IllegalStateException("Can't read file: " + file.getAbsolutePath(), e);
+    /*
+     * Berechnet den SHA-256-Hash von `content[off, off + len)` und schreibt die 32 Bytes
+     * ab `outOffset` in `out`.
+     *
+     * @return Anzahl geschriebener Bytes (32)
+     */
+    public static int sha256(byte[] content, int off, int len, byte[] out, int outOffset) {
+        if (content == null || off < 0 || len < 0 || off > content.length - len) {
+            throw new IllegalArgumentException("Invalid content range!");
         }
+        checkTarget(out, outOffset, DIGEST_LENGTH);
+
+        MessageDigest algorithm = sha256Instance();
+        algorithm.update(content, off, len);
+        return digestInto(algorithm, out, outOffset);
     }
 
     /*
-     * Berechnet den SHA-256-Hash eines Byte-Arrays.
-     * Gibt den Base64-kodierten Hash zurück.
+     * Hilfsmethoden
+     * -------------
      */
-    public static String sha256(byte[] content) {
-        try {
-            // SHA-256-Algorithmus instanziieren
-            MessageDigest algorithm = MessageDigest.getInstance("SHA-256");
 
-            // Eingabe-Bytes dem Algorithmus übergeben
-            algorithm.update(content);
+    /*
+     * Übergibt den Text UTF-8-kodiert an den Digest, ohne ein Byte-Array pro Aufruf anzulegen.
+     * Ergibt dieselben Bytes wie `String.getBytes(UTF_8)`: einzelne Surrogates werden durch '?' ersetzt.
+     */
+    private static void updateUtf8(MessageDigest algorithm, CharSequence message) {
+        char[] chars = CHAR_BUFFER.get();
+        byte[] bytes = UTF8_BUFFER.get();
+        int length = message.length();
+        for (int start = 0; start < length; ) {
+            // Abschnitt kopieren; ein High-Surrogate am Ende wird für den nächsten Abschnitt aufgehoben
+            int end = Math.min(length, start + UTF8_CHUNK);
+            if (end < length && Character.isHighSurrogate(message.charAt(end - 1))) {
+                end--;
+            }
+            int count = end - start;
+            if (message instanceof String) {
+                ((String) message).getChars(start, end, chars, 0);
+            } else {
+                for (int i = 0; i < count; i++) {
+                    chars[i] = message.charAt(start + i);
+                }
+            }
+            algorithm.update(bytes, 0, encodeUtf8(chars, count, bytes));
+            start = end;
+        }
+    }
 
-            // Hash berechnen und als Byte-Array zurückgeben
-            byte[] bytes = algorithm.digest();
+    // Kodiert chars[0, count) nach UTF-8 und liefert die Anzahl der Bytes (höchstens 3 pro char).
+    private static int encodeUtf8(char[] chars, int count, byte[] bytes) {
+        // Schnelle Schleife für reinen ASCII-Text, danach der allgemeine Fall
+        int n = 0;
+        while (n < count && chars[n] < 0x80) {
+            bytes[n] = (byte) chars[n];
+            n++;
+        }
+        for (int i = n; i < count; i++) {
+            char c = chars[i];
+            if (c < 0x80) {
+                bytes[n++] = (byte) c;
+            } else if (c < 0x800) {
+                bytes[n++] = (byte) (0xc0 | c >> 6);
+                bytes[n++] = (byte) (0x80 | c & 0x3f);
+            } else if (!Character.isSurrogate(c)) {
+                bytes[n++] = (byte) (0xe0 | c >> 12);
+                bytes[n++] = (byte) (0x80 | c >> 6 & 0x3f);
+                bytes[n++] = (byte) (0x80 | c & 0x3f);
+            } else if (Character.isHighSurrogate(c) && i + 1 < count && Character.isLowSurrogate(chars[i + 1])) {
+                int codePoint = Character.toCodePoint(c, chars[++i]);
+                bytes[n++] = (byte) (0xf0 | codePoint >> 18);
+                bytes[n++] = (byte) (0x80 | codePoint >> 12 & 0x3f);
+                bytes[n++] = (byte) (0x80 | codePoint >> 6 & 0x3f);
+                bytes[n++] = (byte) (0x80 | codePoint & 0x3f);
+            } else {
+                bytes[n++] = '?';
+            }
+        }
+        return n;
+    }
 
-            // Byte-Array in Base64 kodieren und zurückgeben
-            return Base64.getEncoder().encodeToString(bytes);
+    private static int digestInto(MessageDigest algorithm, byte[] out, int offset) {
+        try {
+            return algorithm.digest(out, offset, DIGEST_LENGTH);
+        } catch (DigestException e) {
+            throw new IllegalStateException("Error computing SHA-256 hash", e);
+        }
+    }
 
-        } catch (NoSuchAlgorithmException e) {
-            // Fehler beim Zugriff auf den SHA-256-Algorithmus
-            throw new IllegalArgumentException("Error computing SHA-256 hash", e);
+    private static void checkTarget(byte[] out, int offset, int length) {
+        if (out == null || offset < 0 || offset > out.length - length) {
+            throw new IllegalArgumentException("Target array is too small!");
         }
     }
 }
@@ -0,0 +1,91 @@
+package Encoding_Decoding;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/*
+ * Vergleicht die Varianten von `Encoding.sha256(File)` über verschiedene Dateigrößen.
+ * -----------------------------------------------------------------------------------
+ * Aufruf: java Encoding_Decoding.EncodingBenchmark [Dateigrößen in KiB ...]
+ *
+ * - Array:     bisheriger Weg (ganze Datei in ein byte[] lesen, dann `sha256(byte[])`)
+ * - Streaming: `sha256(File)` über FileChannel und Direct-Buffer
+ * - Mapped:    `sha256Mapped(File)` über FileChannel.map()
+ *
+ * Ausgegeben werden der beste Durchsatz aus mehreren Durchläufen (MiB/s) und die pro Hash
+ * allokierten Bytes (gemessen über `com.sun.management.ThreadMXBean.getThreadAllocatedBytes`).
+ * Dateien ab 2 GiB kann der Array-Weg nicht mehr lesen.
+ */
+public class EncodingBenchmark {
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    public static void main(String[] args) throws Exception {
+        long[] sizesKiB = {4, 1024, 64 * 1024, 512 * 1024};
+        if (args.length > 0) {
+            sizesKiB = new long[args.length];
+            for (int i = 0; i < args.length; i++) {
+                sizesKiB[i] = Long.parseLong(args[i]);
+            }
+        }
+
+        System.out.println("Größe           Array MiB/s  Bytes/Hash   Streaming MiB/s  Bytes/Hash   Mapped MiB/s  Bytes/Hash");
+        for (long sizeKiB : sizesKiB) {
+            Path path = Files.createTempFile("sha256-benchmark", ".bin");
+            try {
+                createTestFile(path, sizeKiB * 1024);
+                File file = path.toFile();
+                String expected = Encoding.sha256(file);
+                if (!expected.equals(Encoding.sha256Mapped(file))
+                        || (sizeKiB <= 1024 && !expected.equals(Encoding.sha256(Files.readAllBytes(path))))) {
+                    throw new IllegalStateException("Die Varianten liefern unterschiedliche Hashes!");
+                }
+
+                double mib = sizeKiB / 1024.0;
+                int rounds = (int) Math.max(3, Math.min(2000, 256 * 1024 / Math.max(1, sizeKiB)));
+                String array = sizeKiB * 1024 < Integer.MAX_VALUE - 8
+                        ? measure(mib, rounds, () -> Encoding.sha256(Files.readAllBytes(path)))
+                        : String.format("%11s %11s", "-", "-");
+                System.out.printf("%8d KiB   %s   %s   %s%n", sizeKiB, array,
+                        measure(mib, rounds, () -> Encoding.sha256(file)),
+                        measure(mib, rounds, () -> Encoding.sha256Mapped(file)));
+            } finally {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    // Bester Durchsatz und allokierte Bytes pro Hash über `rounds` Durchläufe
+    private static String measure(double mib, int rounds, Task task) throws Exception {
+        task.run(); // Aufwärmen
+        double best = 0;
+        long allocated = THREADS.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < rounds; i++) {
+            long start = System.nanoTime();
+            task.run();
+            best = Math.max(best, mib / ((System.nanoTime() - start) / 1e9));
+        }
+        long perHash = (THREADS.getCurrentThreadAllocatedBytes() - allocated) / rounds;
+        return String.format("%11.1f %11d", best, perHash);
+    }
+
+    private static void createTestFile(Path file, long size) throws IOException {
+        byte[] block = new byte[1024 * 1024];
+        new Random(42).nextBytes(block);
+        try (OutputStream out = Files.newOutputStream(file)) {
+            for (long written = 0; written < size; written += block.length) {
+                out.write(block, 0, (int) Math.min(block.length, size - written));
+            }
+        }
+    }
+
+    interface Task {
+        void run() throws Exception;
+    }
+}
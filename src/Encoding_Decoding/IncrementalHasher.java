@@ -0,0 +1,311 @@
+package Encoding_Decoding;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.Arrays;
+
+/*
+ * Klasse: IncrementalHasher
+ * -------------------------
+ * Fortsetzbarer Hash für Dateien, an die nur angehängt wird (z. B. Logdateien).
+ *
+ * Der interne Zustand eines `MessageDigest` lässt sich nicht speichern. Deshalb wird die Datei in
+ * Chunks fester Größe geteilt und die Chunk-Hashes werden verkettet:
+ *
+ *     Kette_0     = SHA-256("sha256-chain" || Chunk-Größe)
+ *     Kette_i+1   = SHA-256(Kette_i || Chunk_i)                     (nur vollständige Chunks)
+ *     Ergebnis    = SHA-256(Kette_n || unvollständiger Rest || Dateigröße)
+ *
+ * Nach jedem Lauf wird ein Checkpoint gespeichert (Standard: "<Datei>.sha256chain"):
+ *
+ *     # IncrementalHasher v1
+ *     Chunk-Größe TAB Offset TAB Kette_n-1 (Base64) TAB Kette_n (Base64)
+ *
+ * Beim nächsten Lauf geht es ab dem Offset weiter, gehasht werden nur die neuen Bytes und der
+ * Rest nach dem letzten vollständigen Chunk (höchstens eine Chunk-Größe). Die Laufzeit hängt
+ * also von der angehängten Datenmenge ab, nicht von der Dateigröße.
+ *
+ * Der Checkpoint wird verworfen und die Datei komplett neu gehasht, wenn
+ * - die Datei kürzer als der Offset ist (abgeschnitten oder rotiert),
+ * - der letzte Chunk vor dem Offset nicht mehr Kette_n ergibt (rotiert bzw. überschrieben),
+ * - die Chunk-Größe nicht passt oder der Checkpoint fehlt oder unlesbar ist.
+ * Änderungen weiter vorne in der Datei werden NICHT erkannt; dafür ist `digest(file)` da.
+ *
+ * ACHTUNG: Das Ergebnis ist ein ANDERER Digest als `Encoding.sha256(File)` und hängt von der
+ * Chunk-Größe ab. `format()` gibt ihn deshalb mit Kennzeichnung aus, z. B. "sha256-chain-1024k:<Base64>".
+ */
+public class IncrementalHasher {
+
+    static final int DEFAULT_CHUNK_SIZE = 1024 * 1024;
+    static final String CHECKPOINT_SUFFIX = ".sha256chain";
+
+    private static final String CHECKPOINT_HEADER = "# IncrementalHasher v1";
+    private static final byte[] LABEL = "sha256-chain".getBytes(StandardCharsets.US_ASCII);
+    private static final int BUFFER_SIZE = 256 * 1024;
+
+    private static final ThreadLocal<ByteBuffer> BUFFER =
+            ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(BUFFER_SIZE));
+
+    private final int chunkSize;
+
+    public IncrementalHasher() {
+        this(DEFAULT_CHUNK_SIZE);
+    }
+
+    public IncrementalHasher(int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive!");
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    // Standard-Checkpoint neben der Datei: "<Datei>.sha256chain"
+    public static Path checkpointFor(Path file) {
+        return file.resolveSibling(file.getFileName() + CHECKPOINT_SUFFIX);
+    }
+
+    // Hasht die Datei komplett, ohne Checkpoint
+    public byte[] digest(Path file) {
+        return update(file, null).getDigest();
+    }
+
+    // Hasht die Datei ab dem Standard-Checkpoint und speichert ihn danach neu
+    public Result update(Path file) {
+        if (file == null) {
+            throw new IllegalArgumentException("File must not be null!");
+        }
+        return update(file, checkpointFor(file));
+    }
+
+    /*
+     * Hasht die Datei ab dem Checkpoint weiter.
+     *
+     * @param file       die Datei
+     * @param checkpoint Checkpoint-Datei (wird gelesen, falls vorhanden, und danach neu geschrieben);
+     *                   null = ohne Checkpoint
+     */
+    public Result update(Path file, Path checkpoint) {
+        if (file == null) {
+            throw new IllegalArgumentException("File must not be null!");
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // Nur bis zur aktuellen Größe hashen, auch wenn währenddessen weiter geschrieben wird
+            long size = channel.size();
+
+            // 1. Checkpoint laden und prüfen, sonst von vorne beginnen
+            Checkpoint start = checkpoint != null ? readCheckpoint(checkpoint) : null;
+            boolean resumed = start != null && isValid(channel, size, start);
+            if (!resumed) {
+                start = initial();
+            }
+
+            // 2. Neue vollständige Chunks an die Kette hängen
+            long offset = start.offset;
+            byte[] previous = start.previous;
+            byte[] chain = start.chain;
+            MessageDigest digest = Encoding.sha256Instance();
+            while (size - offset >= chunkSize) {
+                digest.update(chain);
+                hashRange(channel, offset, chunkSize, digest);
+                previous = chain;
+                chain = digest.digest();
+                offset += chunkSize;
+            }
+
+            // 3. Ergebnis über Kette, unvollständigen Rest und Dateigröße
+            digest.update(chain);
+            hashRange(channel, offset, size - offset, digest);
+            digest.update(ByteBuffer.allocate(8).putLong(size).array());
+            byte[] result = digest.digest();
+
+            if (checkpoint != null) {
+                writeCheckpoint(checkpoint, new Checkpoint(chunkSize, offset, previous, chain));
+            }
+            return new Result(result, size, size - start.offset, resumed);
+        } catch (IOException e) {
+            throw new IllegalStateException("Can't read file: " + file.toAbsolutePath(), e);
+        }
+    }
+
+    // Gekennzeichnete Darstellung, z. B. "sha256-chain-1024k:<Base64>"
+    public String format(byte[] digest) {
+        String size = chunkSize % 1024 == 0 ? chunkSize / 1024 + "k" : String.valueOf(chunkSize);
+        return "sha256-chain-" + size + ":" + Codec.toBase64(digest);
+    }
+
+    /*
+     * Hilfsmethoden
+     * -------------
+     */
+
+    private Checkpoint initial() {
+        MessageDigest digest = Encoding.sha256Instance();
+        digest.update(LABEL);
+        digest.update(ByteBuffer.allocate(8).putLong(chunkSize).array());
+        return new Checkpoint(chunkSize, 0, null, digest.digest());
+    }
+
+    /*
+     * Ein Checkpoint passt, wenn die Chunk-Größe stimmt, die Datei mindestens bis zum Offset reicht
+     * und der letzte vollständige Chunk zusammen mit Kette_n-1 wieder Kette_n ergibt.
+     */
+    private boolean isValid(FileChannel channel, long size, Checkpoint checkpoint) throws IOException {
+        if (checkpoint.chunkSize != chunkSize || checkpoint.offset % chunkSize != 0 || checkpoint.offset > size) {
+            return false;
+        }
+        if (checkpoint.offset == 0) {
+            return Arrays.equals(checkpoint.chain, initial().chain);
+        }
+        MessageDigest digest = Encoding.sha256Instance();
+        digest.update(checkpoint.previous);
+        hashRange(channel, checkpoint.offset - chunkSize, chunkSize, digest);
+        return MessageDigest.isEqual(digest.digest(), checkpoint.chain);
+    }
+
+    // Übergibt `length` Bytes ab `position` an den Digest
+    private static void hashRange(FileChannel channel, long position, long length, MessageDigest digest) throws IOException {
+        ByteBuffer buffer = BUFFER.get();
+        long end = position + length;
+        while (position < end) {
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity(), end - position));
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new EOFException("File is shorter than expected!");
+            }
+            position += read;
+            buffer.flip();
+            digest.update(buffer);
+        }
+    }
+
+    private static Checkpoint readCheckpoint(Path checkpoint) {
+        try (BufferedReader reader = Files.newBufferedReader(checkpoint, StandardCharsets.UTF_8)) {
+            if (!CHECKPOINT_HEADER.equals(reader.readLine())) {
+                return null;
+            }
+            String line = reader.readLine();
+            String[] fields = line != null ? line.split("\t") : new String[0];
+            if (fields.length != 4) {
+                return null;
+            }
+            byte[] previous = fields[2].isEmpty() ? null : Codec.fromBase64(fields[2]);
+            byte[] chain = Codec.fromBase64(fields[3]);
+            long offset = Long.parseLong(fields[1]);
+            if (chain.length != 32 || offset < 0 || (offset > 0 && (previous == null || previous.length != 32))) {
+                return null;
+            }
+            return new Checkpoint(Integer.parseInt(fields[0]), offset, previous, chain);
+        } catch (IOException | IllegalArgumentException e) {
+            // Fehlender oder unlesbarer Checkpoint: alles neu hashen
+            return null;
+        }
+    }
+
+    // Schreibt den Checkpoint über eine temporäre Datei und benennt sie atomar um.
+    private static void writeCheckpoint(Path checkpoint, Checkpoint state) {
+        Path parent = checkpoint.toAbsolutePath().getParent();
+        try {
+            Path temp = Files.createTempFile(parent, "." + checkpoint.getFileName(), ".tmp");
+            try {
+                try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                    writer.write(CHECKPOINT_HEADER);
+                    writer.newLine();
+                    writer.write(state.chunkSize + "\t" + state.offset + "\t"
+                            + (state.previous != null ? Codec.toBase64(state.previous) : "") + "\t"
+                            + Codec.toBase64(state.chain));
+                    writer.newLine();
+                }
+                Files.move(temp, checkpoint, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to write checkpoint " + checkpoint, e);
+        }
+    }
+
+    /*
+     * Aufruf: java Encoding_Decoding.IncrementalHasher <Datei> [Chunk-Größe in KiB]
+     * Hasht ab dem Checkpoint "<Datei>.sha256chain" weiter und gibt den gekennzeichneten Hash,
+     * die Anzahl gehashter Bytes und die Laufzeit aus.
+     */
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.out.println("Aufruf: java Encoding_Decoding.IncrementalHasher <Datei> [Chunk-Größe in KiB]");
+            return;
+        }
+        IncrementalHasher hasher = args.length > 1
+                ? new IncrementalHasher(Integer.parseInt(args[1]) * 1024) : new IncrementalHasher();
+        long start = System.nanoTime();
+        Result result = hasher.update(Path.of(args[0]));
+        System.out.printf("%s  %s  (%d von %d Bytes gehasht, %s, %.3f s)%n",
+                hasher.format(result.getDigest()), args[0], result.getHashedBytes(), result.getSize(),
+                result.isResumed() ? "fortgesetzt" : "komplett", (System.nanoTime() - start) / 1e9);
+    }
+
+    private static final class Checkpoint {
+        final int chunkSize;
+        final long offset;
+        final byte[] previous; // Kette_n-1, null bei Offset 0
+        final byte[] chain;    // Kette_n
+
+        Checkpoint(int chunkSize, long offset, byte[] previous, byte[] chain) {
+            this.chunkSize = chunkSize;
+            this.offset = offset;
+            this.previous = previous;
+            this.chain = chain;
+        }
+    }
+
+    /*
+     * Ergebnis eines Laufs.
+     */
+    public static final class Result {
+        private final byte[] digest;
+        private final long size;
+        private final long hashedBytes;
+        private final boolean resumed;
+
+        Result(byte[] digest, long size, long hashedBytes, boolean resumed) {
+            this.digest = digest;
+            this.size = size;
+            this.hashedBytes = hashedBytes;
+            this.resumed = resumed;
+        }
+
+        public byte[] getDigest() {
+            return digest.clone();
+        }
+
+        // Dateigröße, bis zu der gehasht wurde
+        public long getSize() {
+            return size;
+        }
+
+        // In diesem Lauf gelesene Bytes (ohne die Prüfung des Checkpoints)
+        public long getHashedBytes() {
+            return hashedBytes;
+        }
+
+        // true, wenn ab einem gültigen Checkpoint fortgesetzt wurde
+        public boolean isResumed() {
+            return resumed;
+        }
+    }
+}
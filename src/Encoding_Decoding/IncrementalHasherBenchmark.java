@@ -0,0 +1,74 @@
+package Encoding_Decoding;
+
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Random;
+
+/*
+ * Vergleicht komplettes Neu-Hashen einer wachsenden Datei mit `IncrementalHasher`.
+ * --------------------------------------------------------------------------------
+ * Aufruf: java Encoding_Decoding.IncrementalHasherBenchmark [Dateigröße in MiB] [Anhang pro Runde in KiB] [Runden]
+ *
+ * In jeder Runde wird ein Block an die Datei angehängt und der Hash neu berechnet,
+ * einmal komplett (`digest`) und einmal ab dem Checkpoint (`update`).
+ * Ausgegeben werden die mittlere Zeit und die gelesenen Bytes pro Runde.
+ */
+public class IncrementalHasherBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int sizeMiB = args.length > 0 ? Integer.parseInt(args[0]) : 256;
+        int appendKiB = args.length > 1 ? Integer.parseInt(args[1]) : 64;
+        int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+
+        Path path = Files.createTempFile("incremental-hasher-benchmark", ".log");
+        Path checkpoint = IncrementalHasher.checkpointFor(path);
+        try {
+            Random random = new Random(42);
+            byte[] block = new byte[1024 * 1024];
+            random.nextBytes(block);
+            try (OutputStream out = Files.newOutputStream(path)) {
+                for (int i = 0; i < sizeMiB; i++) {
+                    out.write(block);
+                }
+            }
+            byte[] append = new byte[appendKiB * 1024];
+            IncrementalHasher hasher = new IncrementalHasher();
+            hasher.update(path, checkpoint);
+            System.out.printf("Dateigröße: %d MiB, Anhang: %d KiB, %d Runden%n", sizeMiB, appendKiB, rounds);
+
+            long fullNanos = 0;
+            long incrementalNanos = 0;
+            long fullBytes = 0;
+            long incrementalBytes = 0;
+            for (int round = 0; round < rounds; round++) {
+                random.nextBytes(append);
+                Files.write(path, append, StandardOpenOption.APPEND);
+
+                long start = System.nanoTime();
+                byte[] full = hasher.digest(path);
+                fullNanos += System.nanoTime() - start;
+                fullBytes += Files.size(path);
+
+                start = System.nanoTime();
+                IncrementalHasher.Result result = hasher.update(path, checkpoint);
+                incrementalNanos += System.nanoTime() - start;
+                incrementalBytes += result.getHashedBytes();
+
+                if (!result.isResumed() || !Arrays.equals(full, result.getDigest())) {
+                    throw new IllegalStateException("Inkrementeller Hash weicht vom kompletten Hash ab!");
+                }
+            }
+
+            System.out.printf("komplett       %10.2f ms/Runde %12d Bytes/Runde%n",
+                    fullNanos / 1e6 / rounds, fullBytes / rounds);
+            System.out.printf("inkrementell   %10.2f ms/Runde %12d Bytes/Runde%n",
+                    incrementalNanos / 1e6 / rounds, incrementalBytes / rounds);
+        } finally {
+            Files.deleteIfExists(path);
+            Files.deleteIfExists(checkpoint);
+        }
+    }
+}
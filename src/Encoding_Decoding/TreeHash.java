@@ -0,0 +1,125 @@
+package Encoding_Decoding;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/*
+ * Klasse: TreeHash
+ * ----------------
+ * Parallel berechenbarer Hash für sehr große Dateien.
+ *
+ * Ein normaler SHA-256 ist streng sequentiell, eine 50-GB-Datei wird also mit einem Kern gehasht.
+ * Der Baum-Hash teilt die Datei in Chunks fester Größe:
+ *
+ *     Chunk-Hash_i = SHA-256(Chunk_i)                              (parallel, aus eingeblendetem Speicher)
+ *     Wurzel       = SHA-256("sha256-tree" || Chunk-Größe || Dateigröße || Chunk-Hash_0 || ... || Chunk-Hash_n-1)
+ *
+ * ACHTUNG: Die Wurzel ist ein ANDERER Digest als `Encoding.sha256(File)` und hängt von der
+ * Chunk-Größe ab. Sie ist nur mit Baum-Hashes derselben Chunk-Größe vergleichbar. Deshalb wird
+ * sie mit `format()` immer mit Kennzeichnung ausgegeben, z. B. "sha256-tree-4096k:<Base64>".
+ */
+public class TreeHash {
+
+    static final int DEFAULT_CHUNK_SIZE = 4 * 1024 * 1024;
+
+    private static final byte[] LABEL = "sha256-tree".getBytes(StandardCharsets.US_ASCII);
+
+    private final int chunkSize;
+
+    public TreeHash() {
+        this(DEFAULT_CHUNK_SIZE);
+    }
+
+    public TreeHash(int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive!");
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    // Baum-Hash einer Datei auf dem gemeinsamen Fork/Join-Pool
+    public byte[] digest(Path file) {
+        return digest(file, ForkJoinPool.commonPool());
+    }
+
+    /*
+     * Baum-Hash einer Datei auf einem bestimmten Pool (die Parallelität des Pools bestimmt,
+     * wie viele Kerne verwendet werden).
+     */
+    public byte[] digest(Path file, ForkJoinPool pool) {
+        if (file == null || pool == null) {
+            throw new IllegalArgumentException("File and pool must not be null!");
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long count = (size + chunkSize - 1) / chunkSize;
+            if (count > Integer.MAX_VALUE / 32) {
+                throw new IllegalArgumentException("File too large for chunk size " + chunkSize);
+            }
+
+            // 1. Chunk-Hashes parallel berechnen, jeder direkt in seinen Platz im Ergebnis-Array
+            byte[] chunks = new byte[(int) count * 32];
+            pool.submit(() -> IntStream.range(0, (int) count).parallel().forEach(i -> {
+                try {
+                    long position = (long) i * chunkSize;
+                    MessageDigest digest = Encoding.sha256Instance();
+                    digest.update(channel.map(FileChannel.MapMode.READ_ONLY, position,
+                            Math.min(chunkSize, size - position)));
+                    digest.digest(chunks, i * 32, 32);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                } catch (DigestException e) {
+                    throw new IllegalStateException(e);
+                }
+            })).get();
+
+            // 2. Wurzel über Kennzeichnung, Parameter und alle Chunk-Hashes
+            MessageDigest root = Encoding.sha256Instance();
+            root.update(LABEL);
+            root.update(ByteBuffer.allocate(16).putLong(chunkSize).putLong(size).array());
+            root.update(chunks);
+            return root.digest();
+        } catch (IOException e) {
+            throw new IllegalStateException("Can't read file: " + file.toAbsolutePath(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Hashing was interrupted!", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Can't read file: " + file.toAbsolutePath(), e.getCause());
+        }
+    }
+
+    // Gekennzeichnete Darstellung, z. B. "sha256-tree-4096k:<Base64>"
+    public String format(byte[] digest) {
+        String size = chunkSize % 1024 == 0 ? chunkSize / 1024 + "k" : String.valueOf(chunkSize);
+        return "sha256-tree-" + size + ":" + Codec.toBase64(digest);
+    }
+
+    /*
+     * Aufruf: java Encoding_Decoding.TreeHash <Datei> [Chunk-Größe in KiB]
+     * Gibt den gekennzeichneten Baum-Hash und den Dateinamen aus.
+     */
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.out.println("Aufruf: java Encoding_Decoding.TreeHash <Datei> [Chunk-Größe in KiB]");
+            return;
+        }
+        TreeHash tree = args.length > 1 ? new TreeHash(Integer.parseInt(args[1]) * 1024) : new TreeHash();
+        System.out.println(tree.format(tree.digest(Path.of(args[0]))) + "  " + args[0]);
+    }
+}
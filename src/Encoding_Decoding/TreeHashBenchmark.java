@@ -0,0 +1,70 @@
+package Encoding_Decoding;
+
+import java.io.File;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/*
+ * Zeigt, wie der Baum-Hash (`TreeHash`) mit der Anzahl der Kerne skaliert.
+ * ------------------------------------------------------------------------
+ * Aufruf: java Encoding_Decoding.TreeHashBenchmark [Dateigröße in MiB] [Chunk-Größe in KiB]
+ *
+ * Zum Vergleich wird zuerst der normale SHA-256 (`Encoding.sha256Mapped`, ein Kern) gemessen,
+ * danach der Baum-Hash auf Fork/Join-Pools mit 1, 2, 4, ... Threads bis zur Kernanzahl.
+ * Ausgegeben werden der beste Durchsatz aus drei Durchläufen und der Faktor gegenüber SHA-256.
+ * Die Datei liegt nach dem ersten Durchlauf im Page Cache, gemessen wird also die Rechenleistung.
+ */
+public class TreeHashBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int sizeMiB = args.length > 0 ? Integer.parseInt(args[0]) : 1024;
+        int chunkKiB = args.length > 1 ? Integer.parseInt(args[1]) : TreeHash.DEFAULT_CHUNK_SIZE / 1024;
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        Path path = Files.createTempFile("tree-hash-benchmark", ".bin");
+        try {
+            byte[] block = new byte[1024 * 1024];
+            new Random(42).nextBytes(block);
+            try (OutputStream out = Files.newOutputStream(path)) {
+                for (int i = 0; i < sizeMiB; i++) {
+                    out.write(block);
+                }
+            }
+            File file = path.toFile();
+            TreeHash tree = new TreeHash(chunkKiB * 1024);
+            System.out.printf("Dateigröße: %d MiB, Chunk-Größe: %d KiB, %d Kerne%n", sizeMiB, chunkKiB, cores);
+
+            double sequential = measure(sizeMiB, () -> Encoding.sha256Mapped(file));
+            System.out.printf("SHA-256 (1 Kern)     %8.1f MiB/s%n", sequential);
+
+            for (int threads = 1; ; threads = Math.min(cores, threads * 2)) {
+                ForkJoinPool pool = new ForkJoinPool(threads);
+                try {
+                    double throughput = measure(sizeMiB, () -> tree.digest(path, pool));
+                    System.out.printf("Baum-Hash %2d Threads %8.1f MiB/s   %5.2fx%n",
+                            threads, throughput, throughput / sequential);
+                } finally {
+                    pool.shutdown();
+                }
+                if (threads == cores) {
+                    break;
+                }
+            }
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    private static double measure(int sizeMiB, Runnable task) {
+        double best = 0;
+        for (int round = 0; round < 3; round++) {
+            long start = System.nanoTime();
+            task.run();
+            best = Math.max(best, sizeMiB / ((System.nanoTime() - start) / 1e9));
+        }
+        return best;
+    }
+}
@@ -0,0 +1,296 @@
+package HMAC;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/*
+ * Klasse: ChainedHmacLog
+ * ----------------------
+ * Manipulationssicheres Append-only-Log (z. B. für Audit-Logs).
+ *
+ * Aufbau eines Eintrags:
+ *     [Länge: 4 Byte][Daten: Länge Byte][HMAC: Länge des Mac-Ergebnisses]
+ *
+ * Verkettung:
+ *     HMAC_i = HMAC(HMAC_{i-1} || Länge_i || Daten_i),   HMAC_0 = lauter Null-Bytes
+ *
+ * - Jeder Eintrag hängt vom vorherigen HMAC ab. Wird ein Eintrag verändert, entfernt oder
+ *   vertauscht, stimmen alle folgenden HMACs nicht mehr.
+ * - Ein Anhängen kostet nur O(Eintragsgröße): Der vorherige HMAC steht immer in den letzten
+ *   Bytes der Datei, die Datei muss dafür nicht erneut gelesen werden.
+ * - `FileChannel.force()` wird nur alle `syncEvery` Einträge aufgerufen (Batching).
+ * - Abschneiden am Dateiende kann die Kette selbst nicht erkennen. Dafür `getLastTag()`
+ *   extern ablegen und mit dem Ergebnis von `verify()` vergleichen.
+ * - Beim Öffnen wird das Dateiende geprüft: Ein unvollständiger letzter Eintrag (Absturz während
+ *   `append`) wird abgeschnitten, der HMAC des letzten vollständigen Eintrags wird nachgerechnet.
+ *   So hängt die Kette nie an unvollständigen oder verfälschten Bytes. Dafür werden beim Öffnen
+ *   nur die Längenfelder gelesen, HMACs werden außer für den letzten Eintrag nicht berechnet.
+ *
+ * Die Klasse ist nicht thread-sicher; parallele Schreiber müssen extern synchronisieren.
+ */
+public class ChainedHmacLog implements Closeable {
+
+    private static final int HEADER_SIZE = 4;
+
+    // Größe der beim Prüfen eingeblendeten Dateiausschnitte (Memory-Mapping)
+    private static final long VERIFY_WINDOW = 64L * 1024 * 1024;
+
+    private final FileChannel channel;
+    private final Mac mac;
+    private final int syncEvery;
+
+    private final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+    private byte[] lastTag;
+    private int unsynced;
+    private final long truncatedBytes;
+
+    /*
+     * Konstruktor: Öffnet (oder erzeugt) die Log-Datei zum Anhängen.
+     *
+     * @param file      Log-Datei
+     * @param key       HMAC-Schlüssel
+     * @param syncEvery nach wie vielen Einträgen `force()` aufgerufen wird (1 = nach jedem Eintrag)
+     */
+    public ChainedHmacLog(Path file, SecretKeySpec key, int syncEvery) throws IOException {
+        if (file == null || key == null) {
+            throw new IllegalArgumentException("File and key must not be null!");
+        }
+        if (syncEvery < 1) {
+            throw new IllegalArgumentException("syncEvery must be at least 1!");
+        }
+        this.mac = newMac(key);
+        this.syncEvery = syncEvery;
+        this.channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        try {
+            long size = channel.size();
+            long end = recoverTail(file);
+            truncatedBytes = size - end;
+            channel.position(end);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /*
+     * Sucht das Ende des letzten vollständigen Eintrags und übernimmt dessen HMAC.
+     * ----------------------------------------------------------------------------
+     * 1. Die Längenfelder werden von vorne gelesen (ohne HMAC-Berechnung), bis ein Eintrag
+     *    über das Dateiende hinausragen würde.
+     * 2. Bytes dahinter stammen von einem abgebrochenen `append` und werden abgeschnitten.
+     * 3. Der HMAC des letzten Eintrags wird mit dem davor stehenden HMAC nachgerechnet. Stimmt er
+     *    nicht (verfälscht oder falscher Schlüssel), wird das Öffnen abgebrochen.
+     *
+     * @return Dateigröße nach dem Abschneiden
+     */
+    private long recoverTail(Path file) throws IOException {
+        int tagLength = mac.getMacLength();
+        long size = channel.size();
+        long position = 0;
+        long last = -1;
+        MappedByteBuffer window = null;
+        long windowStart = 0;
+
+        while (size - position >= HEADER_SIZE) {
+            if (window == null || position + HEADER_SIZE > windowStart + window.capacity()) {
+                windowStart = position;
+                window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, Math.min(size - windowStart, VERIFY_WINDOW));
+            }
+            int length = window.getInt((int) (position - windowStart));
+            if (length < 0) {
+                throw new IllegalStateException("Log file is corrupt: " + file + " (offset " + position + ")");
+            }
+            long end = position + HEADER_SIZE + length + tagLength;
+            if (end > size) {
+                break;
+            }
+            last = position;
+            position = end;
+        }
+
+        if (position < size) {
+            channel.truncate(position);
+            channel.force(false);
+        }
+
+        lastTag = new byte[tagLength];
+        if (last >= 0) {
+            byte[] previous = new byte[tagLength];
+            if (last > 0) {
+                readFully(ByteBuffer.wrap(previous), last - tagLength);
+            }
+            MappedByteBuffer content = channel.map(FileChannel.MapMode.READ_ONLY, last, position - last - tagLength);
+            readFully(ByteBuffer.wrap(lastTag), position - tagLength);
+
+            mac.update(previous);
+            mac.update(content);
+            if (!MessageDigest.isEqual(mac.doFinal(), lastTag)) {
+                throw new IllegalStateException("Log file is corrupt: " + file + " (last record at offset " + last + ")");
+            }
+        }
+        return position;
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of log file!");
+            }
+        }
+    }
+
+    /*
+     * Hängt einen Eintrag an.
+     * -----------------------
+     * 1. HMAC über vorherigen HMAC, Länge und Daten berechnen.
+     * 2. Länge, Daten und HMAC mit einem einzigen Gather-Write schreiben.
+     * 3. Nach `syncEvery` Einträgen auf das Speichermedium schreiben (`force`).
+     */
+    public void append(byte[] record) throws IOException {
+        if (record == null) {
+            throw new IllegalArgumentException("Record must not be null!");
+        }
+        if (record.length > Integer.MAX_VALUE - HEADER_SIZE - lastTag.length) {
+            throw new IllegalArgumentException("Record is too large!");
+        }
+
+        header.clear();
+        header.putInt(record.length).flip();
+
+        mac.update(lastTag);
+        mac.update(header.array());
+        mac.update(record);
+        byte[] tag = mac.doFinal();
+
+        ByteBuffer[] buffers = {header, ByteBuffer.wrap(record), ByteBuffer.wrap(tag)};
+        while (buffers[2].hasRemaining()) {
+            channel.write(buffers);
+        }
+        lastTag = tag;
+
+        if (++unsynced >= syncEvery) {
+            sync();
+        }
+    }
+
+    // Schreibt alle noch nicht synchronisierten Einträge auf das Speichermedium.
+    public void sync() throws IOException {
+        if (unsynced > 0) {
+            channel.force(false);
+            unsynced = 0;
+        }
+    }
+
+    // HMAC des letzten Eintrags (Anker für die Erkennung von abgeschnittenen Logs).
+    public byte[] getLastTag() {
+        return lastTag.clone();
+    }
+
+    // Anzahl der Bytes eines unvollständigen Eintrags, die beim Öffnen abgeschnitten wurden
+    public long getTruncatedBytes() {
+        return truncatedBytes;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            sync();
+        } finally {
+            channel.close();
+        }
+    }
+
+    /*
+     * Prüft ein komplettes Log in einem sequentiellen Durchlauf.
+     * ----------------------------------------------------------
+     * - Die Datei wird abschnittsweise per `FileChannel.map()` eingeblendet, die Einträge werden
+     *   direkt aus dem gemappten Speicher an `mac.update(ByteBuffer)` übergeben.
+     * - Bei der ersten Abweichung wird eine `IllegalStateException` mit Eintragsnummer
+     *   und Dateiposition geworfen.
+     *
+     * @return der HMAC des letzten Eintrags (zum Vergleich mit einem extern gespeicherten Anker)
+     */
+    public static byte[] verify(Path file, SecretKeySpec key) throws IOException {
+        Mac mac = newMac(key);
+        int tagLength = mac.getMacLength();
+        byte[] previous = new byte[tagLength];
+        byte[] stored = new byte[tagLength];
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = 0;
+            long record = 0;
+            MappedByteBuffer window = null;
+            long windowStart = 0;
+
+            while (position < size) {
+                if (size - position < HEADER_SIZE + tagLength) {
+                    throw tampered(record, position);
+                }
+                if (window == null || position + HEADER_SIZE > windowStart + window.capacity()) {
+                    windowStart = position;
+                    window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart,
+                            Math.min(size - windowStart, VERIFY_WINDOW));
+                }
+
+                int length = window.getInt((int) (position - windowStart));
+                long end = position + HEADER_SIZE + length + tagLength;
+                if (length < 0 || end > size) {
+                    throw tampered(record, position);
+                }
+                if (end > windowStart + window.capacity()) {
+                    // Eintrag ragt über das Fenster hinaus: neues Fenster ab diesem Eintrag
+                    windowStart = position;
+                    window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart,
+                            Math.min(size - windowStart, Math.max(VERIFY_WINDOW, end - position)));
+                }
+
+                int offset = (int) (position - windowStart);
+                ByteBuffer content = window.duplicate();
+                content.limit(offset + HEADER_SIZE + length).position(offset);
+                mac.update(previous);
+                mac.update(content);
+                byte[] computed = mac.doFinal();
+
+                content.limit(offset + HEADER_SIZE + length + tagLength);
+                content.get(stored);
+                if (!MessageDigest.isEqual(computed, stored)) {
+                    throw tampered(record, position);
+                }
+
+                byte[] swap = previous;
+                previous = stored;
+                stored = swap;
+                position = end;
+                record++;
+            }
+        }
+        return previous;
+    }
+
+    private static IllegalStateException tampered(long record, long position) {
+        return new IllegalStateException("Log verification failed at record " + record + " (offset " + position + ")");
+    }
+
+    private static Mac newMac(SecretKeySpec key) {
+        try {
+            Mac mac = Mac.getInstance(key.getAlgorithm());
+            mac.init(key);
+            return mac;
+        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new IllegalStateException("Can't initialize Mac for log!", e);
+        }
+    }
+}
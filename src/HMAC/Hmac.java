@@ -1,18 +1,47 @@
 package HMAC;
 
+import Encoding_Decoding.Codec;
+
 import javax.crypto.Mac;
 import javax.crypto.spec.SecretKeySpec;
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.util.Properties;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 
 public class Hmac {
+
+    /*
+     * Größe der Blöcke, in denen Dateien und Streams dem `Mac` übergeben werden.
+     * 64 KiB sind groß genug, um den Overhead pro `update()`-Aufruf zu vernachlässigen,
+     * und klein genug, damit der Speicherbedarf unabhängig von der Dateigröße konstant bleibt.
+     */
+    static final int CHUNK_SIZE = 64 * 1024;
+
+    /*
+     * Ein Direct-Buffer pro Thread: wird bei jedem Aufruf wiederverwendet, damit für
+     * große Dateien weder ein Byte-Array in Dateigröße noch ein neuer Puffer pro Aufruf entsteht.
+     */
+    private static final ThreadLocal<ByteBuffer> BUFFER =
+            ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(CHUNK_SIZE));
+
     public static void main(String[] args) {
         try {
             /*
-             * 1. Geheimen Schlüssel aus Properties-Datei lesen
-             * ------------------------------------------------
-             * Wir verwenden die Java-Klasse `Properties`, um einen geheimen Schlüssel
+             * 1. Algorithmus definieren
+             * -------------------------
+             * Der Algorithmus "HmacSHA1" gibt an, dass wir HMAC mit der Hash-Funktion SHA-1 verwenden.
+             */
+            final String ALGORITHM = "HmacSHA1";
+
+            /*
+             * 2. Geheime Schlüssel aus Properties-Datei laden
+             * -----------------------------------------------
+             * Der `KeyRing` verwendet die Java-Klasse `Properties`, um die geheimen Schlüssel
              * aus einer Konfigurationsdatei (z. B. "security.properties") zu laden.
              *
              * Was ist `Properties`?
@@ -29,35 +58,28 @@ public class Hmac {
              * - Beispiel für eine Datei:
              *       key=mySecretKey123
              *       anotherKey=someValue
-             * - Auf die Werte kann dann mit `getProperty(keyName)` zugegriffen werden.
-             */
-            String secretKey = readSecretKey("security.properties", "key");
-
-            /*
-             * 2. Algorithmus definieren
-             * -------------------------
-             * Der Algorithmus "HmacSHA1" gibt an, dass wir HMAC mit der Hash-Funktion SHA-1 verwenden.
+             *
+             * Die Datei wird nur einmal gelesen, nicht bei jeder HMAC-Berechnung.
+             * Mit `keyRing.watch()` wird sie bei Änderungen automatisch neu geladen.
              */
-            final String ALGORITHM = "HmacSHA1";
+            KeyRing keyRing = new KeyRing(Path.of("security.properties"), ALGORITHM);
 
             /*
              * 3. Schlüssel als Byte-Array vorbereiten
              * ---------------------------------------
-             * Der gelesene Schlüssel (`secretKey`) wird mit der Methode `getBytes()` in ein Byte-Array
-             * umgewandelt, da kryptografische APIs wie `Mac` mit Byte-Daten arbeiten.
-             */
-            byte[] secretKeyBytes = secretKey.getBytes();
-
-            /*
-             * 4. SecretKeySpec erstellen
-             * --------------------------
-             * SecretKeySpec wandelt das Byte-Array (`secretKeyBytes`) in ein Schlüsselobjekt um, das
-             * für kryptografische Klassen wie `Mac` geeignet ist.
+             * Beim Laden wandelt der `KeyRing` jeden gelesenen Schlüssel mit `getBytes()` in ein
+             * Byte-Array um, da kryptografische APIs wie `Mac` mit Byte-Daten arbeiten.
+             *
+             * 4. SecretKeySpec abrufen
+             * ------------------------
+             * SecretKeySpec wandelt das Byte-Array in ein Schlüsselobjekt um, das
+             * für kryptografische Klassen wie `Mac` geeignet ist. Der `KeyRing` erzeugt diese
+             * Objekte einmal beim Laden und liefert sie über die Schlüssel-ID ("key") aus.
              * Warum der Algorithmus als Parameter?
-Der Algorithmus-Parameter sorgt dafür, dass der Schlüssel eindeutig einem bestimmten kryptografischen Verfahren (hier HMAC mit SHA1) zugeordnet wird.
-*  Das hilft dabei, den Schlüssel korrekt und sicher in den späteren Schritten der HMAC-Berechnung zu verwenden.
+             * Der Algorithmus-Parameter sorgt dafür, dass der Schlüssel eindeutig einem bestimmten
+             * kryptografischen Verfahren (hier HMAC mit SHA1) zugeordnet wird.
              */
-            SecretKeySpec secretKeySpec = new SecretKeySpec(secretKeyBytes, ALGORITHM);
+            SecretKeySpec secretKeySpec = keyRing.get("key");
 
             /*
              * 5. Mac-Instanz erstellen und initialisieren
@@ -97,7 +119,7 @@ Der Algorithmus-Parameter sorgt dafür, dass der Schlüssel eindeutig einem best
              * --------------------------------------
              * Der HMAC-Wert wird als Hexadezimal-String ausgegeben, um ihn besser lesbar zu machen.
              */
-            System.out.println("HMAC (Hex-Format): " + bytesToHex(hmacResult));
+            System.out.println("HMAC (Hex-Format): " + Codec.toHex(hmacResult));
 
         } catch (Exception e) {
             // Fehlerbehandlung: Gibt Probleme bei Datei-I/O, Algorithmus oder Schlüssel aus.
@@ -106,64 +128,47 @@ Der Algorithmus-Parameter sorgt dafür, dass der Schlüssel eindeutig einem best
     }
 
     /*
-     * Liest den geheimen Schlüssel aus einer Properties-Datei.
-     * --------------------------------------------------------
-     * Parameter:
-     * - filePath: Der Pfad zur Properties-Datei, z. B. "security.properties".
-     * - keyName: Der Name des Schlüssels, der aus der Datei abgerufen werden soll, z. B. "key".
-     *
-     * Was passiert in dieser Methode?
-     * 1. Eine Instanz der Klasse `Properties` wird erstellt.
-     * 2. Mit `load(FileInputStream)` wird der Inhalt der Datei gelesen.
-     * 3. Mit `getProperty(String keyName)` wird der Wert für den angegebenen Schlüssel abgerufen.
+     * Berechnet den HMAC einer Datei, ohne sie vollständig in den Speicher zu laden.
+     * ------------------------------------------------------------------------------
+     * - Die Datei wird über einen `FileChannel` blockweise gelesen.
+     * - Jeder Block wird mit `mac.update(ByteBuffer)` verarbeitet, erst am Ende folgt `doFinal()`.
+     * - Das Ergebnis ist identisch mit `mac.doFinal(Files.readAllBytes(file))`.
      */
-    private static String readSecretKey(String filePath, String keyName) throws IOException {
-        // 1. Erstellen einer Properties-Instanz.
-        Properties properties = new Properties();
-
-        /*
-         * 2. Datei öffnen und laden.
-         * --------------------------
-         * - `FileInputStream`: Öffnet die Datei im Lesemodus.
-         * - `Properties.load(InputStream)`: Liest die Datei zeilenweise und speichert die Schlüssel-Wert-Paare. schlüsselwertpaar wäre key = 123124 in der datei und ich filteere mit getproperty (keyname ) nach dem wie das in der datei benannt worden ist
-         */
-        try (FileInputStream fis = new FileInputStream(filePath)) {
-            properties.load(fis); // Schlüssel-Wert-Paare aus der Datei laden.
-        }
-        /*
-         * 3. Schlüssel abrufen.
-         * ---------------------
-         * - `getProperty(String key)`: Gibt den Wert zurück, der dem angegebenen Schlüssel zugeordnet ist.
-         * - Wenn der Schlüssel nicht existiert, wird `null` zurückgegeben.
-         */
-        String key = properties.getProperty(keyName);
-
-        // 4. Fehlerbehandlung: Falls der Schlüssel fehlt, eine Ausnahme auslösen.
-        if (key == null) {
-            throw new IllegalArgumentException("Key '" + keyName + "' not found in file: " + filePath);
+    public static byte[] hmac(Mac mac, Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return hmac(mac, channel);
         }
+    }
 
-        // 5. Den gefundenen Schlüssel zurückgeben.
-        return key;
+    /*
+     * Berechnet den HMAC eines `InputStream` blockweise.
+     * --------------------------------------------------
+     * - Der Stream wird in einen Channel umgewandelt, damit derselbe Direct-Buffer genutzt wird.
+     * - Der Stream wird nicht geschlossen, das bleibt Aufgabe des Aufrufers.
+     */
+    public static byte[] hmac(Mac mac, InputStream in) throws IOException {
+        return hmac(mac, Channels.newChannel(in));
     }
 
     /*
-     * Konvertiert ein Byte-Array in einen Hexadezimal-String.
-     * -------------------------------------------------------
-     * - Wandelt jedes Byte in einen lesbaren Hex-Wert um.
-     * - Nützlich für die Darstellung von HMAC-Werten.
+     * Berechnet den HMAC aller Bytes, die aus dem Channel gelesen werden können.
+     * --------------------------------------------------------------------------
+     * 1. Puffer leeren und so viele Bytes wie möglich aus dem Channel lesen.
+     * 2. Puffer zum Lesen umschalten (`flip()`) und an `mac.update()` übergeben.
+     * 3. Wiederholen, bis der Channel das Dateiende (-1) meldet.
      */
-    private static String bytesToHex(byte[] bytes) {
-        StringBuilder hexString = new StringBuilder();
-        for (byte b : bytes) {
-            // Byte in Hexadezimalwert umwandeln (0xff entfernt das Vorzeichen).
-            String hex = Integer.toHexString(0xff & b);
-            // Führende Null hinzufügen, falls nötig.
-            if (hex.length() == 1) {
-                hexString.append('0');
-            }
-            hexString.append(hex);
+    public static byte[] hmac(Mac mac, ReadableByteChannel channel) throws IOException {
+        if (mac == null || channel == null) {
+            throw new IllegalArgumentException("Mac and channel must not be null!");
+        }
+
+        ByteBuffer buffer = BUFFER.get();
+        buffer.clear();
+        while (channel.read(buffer) != -1) {
+            buffer.flip();
+            mac.update(buffer);
+            buffer.clear();
         }
-        return hexString.toString();
+        return mac.doFinal();
     }
 }
\ No newline at end of file
@@ -0,0 +1,95 @@
+package HMAC;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/*
+ * Misst die Skalierung von `HmacBatchSigner` mit der Anzahl der Threads.
+ * ----------------------------------------------------------------------
+ * Aufruf: java HMAC.HmacBatchBenchmark [Nachrichten pro Batch] [Nachrichtengröße in Bytes]
+ *
+ * Für 1, 2, 4, ... bis zur Anzahl der Kerne wird ein eigener Fork/Join-Pool erzeugt
+ * und der Durchsatz (Signaturen/s) sowie der Speedup gegenüber einem Thread ausgegeben.
+ * Als Referenz wird zusätzlich die bisherige sequentielle Schleife gemessen.
+ */
+public class HmacBatchBenchmark {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int ROUNDS = 10;
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int size = args.length > 1 ? Integer.parseInt(args[1]) : 1024;
+
+        SecretKeySpec key = new SecretKeySpec("benchmark-key".getBytes(), ALGORITHM);
+        List<byte[]> messages = createMessages(count, size);
+
+        // Referenz: eine Nachricht nach der anderen auf dem aufrufenden Thread
+        HmacBatchSigner reference = new HmacBatchSigner(key);
+        List<byte[]> expected = new ArrayList<>(count);
+        long start = System.nanoTime();
+        for (int r = 0; r < ROUNDS; r++) {
+            expected.clear();
+            for (byte[] message : messages) {
+                expected.add(reference.sign(message));
+            }
+        }
+        double sequential = throughput(count, start);
+        System.out.printf("%d Nachrichten à %d Bytes%n", count, size);
+        System.out.printf("sequentiell         %12.0f Signaturen/s%n", sequential);
+
+        int cores = Runtime.getRuntime().availableProcessors();
+        double single = 0;
+        for (int threads = 1; threads <= cores; threads = next(threads, cores)) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                HmacBatchSigner signer = new HmacBatchSigner(key, pool);
+                check(expected, signer.signAll(messages)); // Aufwärmen + Ergebnis prüfen
+
+                start = System.nanoTime();
+                for (int r = 0; r < ROUNDS; r++) {
+                    signer.signAll(messages);
+                }
+                double ops = throughput(count, start);
+                if (threads == 1) {
+                    single = ops;
+                }
+                System.out.printf("%2d Thread(s)        %12.0f Signaturen/s   Speedup %.2f%n",
+                        threads, ops, ops / single);
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    private static int next(int threads, int cores) {
+        return threads == cores ? cores + 1 : Math.min(threads * 2, cores);
+    }
+
+    private static double throughput(int count, long start) {
+        return (double) count * ROUNDS / ((System.nanoTime() - start) / 1e9);
+    }
+
+    private static void check(List<byte[]> expected, List<byte[]> actual) {
+        for (int i = 0; i < expected.size(); i++) {
+            if (!MessageDigest.isEqual(expected.get(i), actual.get(i))) {
+                throw new IllegalStateException("Batch result differs at index " + i);
+            }
+        }
+    }
+
+    private static List<byte[]> createMessages(int count, int size) {
+        Random random = new Random(42);
+        List<byte[]> messages = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            byte[] message = new byte[size];
+            random.nextBytes(message);
+            messages.add(message);
+        }
+        return messages;
+    }
+}
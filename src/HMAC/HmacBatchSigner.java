@@ -0,0 +1,106 @@
+package HMAC;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/*
+ * Klasse: HmacBatchSigner
+ * -----------------------
+ * - Signiert viele Nachrichten parallel auf einem Fork/Join-Pool.
+ * - Jeder Worker-Thread besitzt sein eigenes, einmal initialisiertes `Mac`-Objekt
+ *   (ThreadLocal), daher gibt es weder Sperren noch wiederholtes `mac.init()`.
+ * - Die Ergebnisse stehen in derselben Reihenfolge wie die Eingabenachrichten:
+ *   result.get(i) ist der HMAC von messages.get(i).
+ */
+public class HmacBatchSigner {
+
+    private final SecretKeySpec key;
+    private final ForkJoinPool pool;
+
+    // Ein initialisiertes Mac-Objekt pro Worker-Thread
+    private final ThreadLocal<Mac> mac;
+
+    /*
+     * Konstruktor: Signiert auf dem gemeinsamen Fork/Join-Pool der JVM.
+     */
+    public HmacBatchSigner(SecretKeySpec key) {
+        this(key, ForkJoinPool.commonPool());
+    }
+
+    /*
+     * Konstruktor: Signiert auf einem eigenen Pool, z. B. um die Anzahl Threads zu begrenzen.
+     */
+    public HmacBatchSigner(SecretKeySpec key, ForkJoinPool pool) {
+        if (key == null || pool == null) {
+            throw new IllegalArgumentException("Key and pool must not be null!");
+        }
+        this.key = key;
+        this.pool = pool;
+        this.mac = ThreadLocal.withInitial(this::newMac);
+
+        // Algorithmus und Schlüssel sofort prüfen, nicht erst im ersten Worker
+        newMac();
+    }
+
+    /*
+     * Signiert alle Nachrichten und liefert die HMAC-Werte in Eingabereihenfolge.
+     * ---------------------------------------------------------------------------
+     * - Die Indizes werden per Parallel-Stream auf die Worker des Pools verteilt.
+     * - Jeder Worker schreibt nur in "seine" Felder des Ergebnis-Arrays,
+     *   dadurch ist keine Synchronisation nötig.
+     */
+    public List<byte[]> signAll(List<byte[]> messages) {
+        if (messages == null) {
+            throw new IllegalArgumentException("Messages must not be null!");
+        }
+
+        byte[][] result = new byte[messages.size()][];
+        try {
+            pool.submit(() -> IntStream.range(0, result.length)
+                    .parallel()
+                    .forEach(i -> result[i] = mac.get().doFinal(messages.get(i))))
+                    .get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Batch signing was interrupted!", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Unable to sign batch!", e.getCause());
+        }
+        return Arrays.asList(result);
+    }
+
+    /*
+     * Variante für Streams: Der Stream wird zuerst eingesammelt, damit die
+     * Reihenfolge der Ergebnisse eindeutig bleibt.
+     */
+    public List<byte[]> signAll(Stream<byte[]> messages) {
+        if (messages == null) {
+            throw new IllegalArgumentException("Messages must not be null!");
+        }
+        return signAll(messages.collect(Collectors.toList()));
+    }
+
+    // Signiert eine einzelne Nachricht mit dem Mac des aufrufenden Threads.
+    public byte[] sign(byte[] message) {
+        return mac.get().doFinal(message);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac m = Mac.getInstance(key.getAlgorithm());
+            m.init(key);
+            return m;
+        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new IllegalStateException("Can't initialize Mac for batch signing!", e);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package HMAC;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Random;
+
+/*
+ * Vergleicht den bisherigen Weg (ganze Datei als Byte-Array + `doFinal`) mit dem
+ * Streaming-Weg aus `Hmac.hmac(Mac, Path)`.
+ * ------------------------------------------------------------------------------
+ * Aufruf: java HMAC.HmacBenchmark [Dateigröße in MiB] [Wiederholungen]
+ *
+ * Ausgegeben werden Durchsatz (MiB/s) und der zusätzlich belegte Heap-Speicher.
+ * Der Array-Weg scheitert ab 2 GiB (maximale Array-Größe) bzw. an der Heap-Grenze,
+ * der Streaming-Weg benötigt unabhängig von der Dateigröße nur einen 64-KiB-Puffer.
+ */
+public class HmacBenchmark {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    public static void main(String[] args) throws Exception {
+        int sizeMiB = args.length > 0 ? Integer.parseInt(args[0]) : 256;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        Path file = createTestFile(sizeMiB);
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(new SecretKeySpec("benchmark-key".getBytes(), ALGORITHM));
+
+            // Beide Wege müssen denselben HMAC liefern
+            byte[] expected = mac.doFinal(Files.readAllBytes(file));
+            byte[] actual = Hmac.hmac(mac, file);
+            if (!MessageDigest.isEqual(expected, actual)) {
+                throw new IllegalStateException("Streaming-HMAC weicht vom Array-HMAC ab!");
+            }
+
+            // Aufwärmphase für den JIT-Compiler
+            for (int i = 0; i < 2; i++) {
+                mac.doFinal(Files.readAllBytes(file));
+                Hmac.hmac(mac, file);
+            }
+
+            System.out.printf("Dateigröße: %d MiB, %d Wiederholungen%n", sizeMiB, rounds);
+            run("byte[] + doFinal", sizeMiB, rounds, () -> mac.doFinal(Files.readAllBytes(file)));
+            run("FileChannel-Stream", sizeMiB, rounds, () -> Hmac.hmac(mac, file));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static void run(String name, int sizeMiB, int rounds, Task task) throws Exception {
+        Runtime runtime = Runtime.getRuntime();
+        long maxHeapDelta = 0;
+        long nanos = 0;
+        for (int i = 0; i < rounds; i++) {
+            // GC und Heap-Messung liegen außerhalb der gemessenen Zeit
+            System.gc();
+            long before = runtime.totalMemory() - runtime.freeMemory();
+            long start = System.nanoTime();
+            task.run();
+            nanos += System.nanoTime() - start;
+            long after = runtime.totalMemory() - runtime.freeMemory();
+            maxHeapDelta = Math.max(maxHeapDelta, after - before);
+        }
+        double seconds = nanos / 1e9;
+        System.out.printf("%-20s %8.1f MiB/s   Heap +%6d KiB%n",
+                name, sizeMiB * rounds / seconds, Math.max(0, maxHeapDelta) / 1024);
+    }
+
+    private static Path createTestFile(int sizeMiB) throws IOException {
+        Path file = Files.createTempFile("hmac-benchmark", ".bin");
+        byte[] block = new byte[1024 * 1024];
+        new Random(42).nextBytes(block);
+        try (OutputStream out = Files.newOutputStream(file)) {
+            for (int i = 0; i < sizeMiB; i++) {
+                out.write(block);
+            }
+        }
+        return file;
+    }
+
+    private interface Task {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,215 @@
+package HMAC;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * Klasse: HmacVerifier
+ * --------------------
+ * Prüft empfangene HMAC-Werte mit hoher Rate.
+ *
+ * - Der Vergleich erfolgt in konstanter Zeit mit `MessageDigest.isEqual()`. Ein einfaches
+ *   `Arrays.equals()` bricht beim ersten abweichenden Byte ab und verrät über die Laufzeit,
+ *   wie viele Bytes eines gefälschten HMAC bereits stimmen (Timing-Angriff).
+ * - Bereits erfolgreich geprüfte Paare (Nachrichten-ID, HMAC) werden in einem begrenzten
+ *   LRU-Cache gehalten. Eine erneute Zustellung derselben Nachricht wird ohne erneute
+ *   HMAC-Berechnung als `REPLAY` erkannt. Pro ID zählt nur das zuerst akzeptierte Paar:
+ *   Eine ID kann nicht durch eine andere (gültige) Nachricht neu belegt werden, sonst ließe sich
+ *   die Erkennung durch abwechselnde Zustellung zweier Nachrichten umgehen.
+ *   Erst wenn die ID aus dem Cache verdrängt wurde, wird sie wieder akzeptiert.
+ * - Der Cache ist in mehrere Segmente (Stripes) mit eigener Sperre aufgeteilt, damit sich
+ *   parallele Threads nur selten gegenseitig blockieren.
+ * - Metriken: Trefferquote, Verdrängungen (Evictions) und p99-Latenz der Prüfungen.
+ */
+public class HmacVerifier {
+
+    /*
+     * Ergebnis einer Prüfung.
+     * - VALID:   HMAC korrekt, Nachricht wurde zum ersten Mal geprüft.
+     * - REPLAY:  Diese Nachrichten-ID wurde bereits akzeptiert (mit diesem oder einem anderen HMAC).
+     *            Die Nachricht darf NICHT erneut verarbeitet werden (Wiederholung oder Replay-Angriff),
+     *            denn der Inhalt wurde in diesem Fall nicht erneut geprüft bzw. die ID ist verbraucht.
+     * - INVALID: HMAC falsch, Nachricht wurde manipuliert oder der Schlüssel stimmt nicht.
+     */
+    public enum Result {
+        VALID, REPLAY, INVALID
+    }
+
+    private static final int STRIPES = 16;
+    private static final int LATENCY_SAMPLES = 4096;
+
+    private final MacPool pool;
+    private final String keyId;
+    private final SecretKeySpec key;
+
+    // Cache-Segmente: Nachrichten-ID -> zuerst akzeptierter HMAC
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    // Ringpuffer der letzten Prüfdauern in Nanosekunden (für die p99-Latenz)
+    private final AtomicLongArray latencies = new AtomicLongArray(LATENCY_SAMPLES);
+    private final AtomicLong latencyIndex = new AtomicLong();
+
+    public HmacVerifier(SecretKeySpec key, int cacheCapacity) {
+        this(new MacPool(), "verifier", key, cacheCapacity);
+    }
+
+    /*
+     * Konstruktor
+     *
+     * @param pool          Pool mit initialisierten Mac-Objekten (kann mit dem Signierer geteilt werden)
+     * @param keyId         Schlüssel-ID im Pool
+     * @param key           Schlüssel zum Prüfen
+     * @param cacheCapacity maximale Anzahl gemerkter Nachrichten-IDs
+     */
+    public HmacVerifier(MacPool pool, String keyId, SecretKeySpec key, int cacheCapacity) {
+        if (pool == null || keyId == null || key == null) {
+            throw new IllegalArgumentException("Pool, key id and key must not be null!");
+        }
+        if (cacheCapacity < STRIPES) {
+            throw new IllegalArgumentException("Cache capacity must be at least " + STRIPES + "!");
+        }
+        this.pool = pool;
+        this.keyId = keyId;
+        this.key = key;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(cacheCapacity / STRIPES, evictions);
+        }
+    }
+
+    /*
+     * Prüft den HMAC einer Nachricht.
+     * -------------------------------
+     * 1. Cache nachsehen: Gibt es für die ID bereits einen akzeptierten HMAC, der (in konstanter Zeit)
+     *    mit dem empfangenen übereinstimmt, ist das Ergebnis REPLAY - ohne HMAC-Berechnung.
+     * 2. Sonst HMAC berechnen und in konstanter Zeit vergleichen. Ein falscher HMAC ist INVALID,
+     *    auch wenn die ID schon belegt ist.
+     * 3. Ist die ID bereits mit einem anderen HMAC belegt, ist das Ergebnis REPLAY, der Eintrag
+     *    bleibt unverändert. Sonst wird das Paar im Cache abgelegt. Nachsehen und Eintragen geschieht
+     *    dabei unter der Sperre des Segments: Prüfen zwei Threads gleichzeitig dieselbe ID, bekommt
+     *    nur einer VALID, der andere REPLAY.
+     */
+    public Result verify(String messageId, byte[] message, byte[] tag) {
+        if (messageId == null || message == null || tag == null) {
+            throw new IllegalArgumentException("Message id, message and tag must not be null!");
+        }
+
+        long start = System.nanoTime();
+        try {
+            Stripe stripe = stripeFor(messageId);
+            byte[] cached = stripe.get(messageId);
+            if (cached != null && MessageDigest.isEqual(cached, tag)) {
+                hits.increment();
+                return Result.REPLAY;
+            }
+            misses.increment();
+
+            if (!MessageDigest.isEqual(compute(message), tag)) {
+                return Result.INVALID;
+            }
+            return stripe.putIfAbsent(messageId, Arrays.copyOf(tag, tag.length)) ? Result.VALID : Result.REPLAY;
+        } finally {
+            recordLatency(System.nanoTime() - start);
+        }
+    }
+
+    private byte[] compute(byte[] message) {
+        Mac mac = pool.acquire(keyId, key);
+        try {
+            return mac.doFinal(message);
+        } finally {
+            pool.release(keyId, key, mac);
+        }
+    }
+
+    private Stripe stripeFor(String messageId) {
+        int h = messageId.hashCode();
+        return stripes[(h ^ (h >>> 16)) & (STRIPES - 1)];
+    }
+
+    private void recordLatency(long nanos) {
+        latencies.set((int) (latencyIndex.getAndIncrement() % LATENCY_SAMPLES), nanos);
+    }
+
+    /*
+     * Metriken
+     * --------
+     */
+
+    public double getHitRatio() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    // p99 der letzten (bis zu 4096) Prüfungen in Nanosekunden
+    public long getP99LatencyNanos() {
+        int count = (int) Math.min(latencyIndex.get(), LATENCY_SAMPLES);
+        if (count == 0) {
+            return 0;
+        }
+        long[] samples = new long[count];
+        for (int i = 0; i < count; i++) {
+            samples[i] = latencies.get(i);
+        }
+        Arrays.sort(samples);
+        return samples[(int) Math.ceil(count * 0.99) - 1];
+    }
+
+    @Override
+    public String toString() {
+        return "HmacVerifier[hitRatio=" + String.format("%.3f", getHitRatio())
+                + ", evictions=" + getEvictionCount()
+                + ", p99=" + getP99LatencyNanos() / 1000 + "µs]";
+    }
+
+    /*
+     * Ein Cache-Segment: LinkedHashMap in Zugriffsreihenfolge (LRU) mit fester Kapazität.
+     * Der älteste Eintrag wird verdrängt, sobald die Kapazität überschritten wird.
+     */
+    private static final class Stripe {
+        private final Map<String, byte[]> entries;
+
+        Stripe(int capacity, LongAdder evictions) {
+            this.entries = new LinkedHashMap<>(capacity * 4 / 3 + 1, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, byte[]> eldest) {
+                    if (size() > capacity) {
+                        evictions.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        synchronized byte[] get(String messageId) {
+            return entries.get(messageId);
+        }
+
+        /*
+         * Trägt den HMAC ein, außer für die ID ist schon ein HMAC eingetragen (dann wurde
+         * die ID bereits akzeptiert, ggf. gleichzeitig von einem anderen Thread).
+         * Ein vorhandener Eintrag wird nie überschrieben.
+         *
+         * @return true, wenn eingetragen wurde
+         */
+        synchronized boolean putIfAbsent(String messageId, byte[] tag) {
+            return entries.putIfAbsent(messageId, tag) == null;
+        }
+    }
+}
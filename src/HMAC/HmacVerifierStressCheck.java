@@ -0,0 +1,107 @@
+package HMAC;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * Prüft, dass `HmacVerifier` doppelte Zustellungen auch bei gleichzeitiger Prüfung erkennt.
+ * -----------------------------------------------------------------------------------------
+ * Aufruf: java HMAC.HmacVerifierStressCheck [Threads] [Nachrichten]
+ *
+ * - Vorab: Eine ID, die mit einer zweiten gültigen Nachricht erneut zugestellt wird, bleibt belegt.
+ *   Weder die zweite noch danach wieder die erste Nachricht darf VALID sein.
+ * - Dann prüfen alle Threads dieselbe Nachricht (gleiche ID, gleicher HMAC) zur selben Zeit,
+ *   gestartet über eine Barriere. Pro Nachricht darf genau ein Thread VALID bekommen, alle anderen REPLAY.
+ *
+ * Bei einem Fehler endet das Programm mit Exit-Code 1.
+ */
+public class HmacVerifierStressCheck {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    public static void main(String[] args) throws Exception {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        int messages = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+
+        SecretKeySpec key = new SecretKeySpec("replay-test-key".getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        HmacVerifier verifier = new HmacVerifier(key, messages * 2);
+        Mac mac = Mac.getInstance(ALGORITHM);
+        mac.init(key);
+
+        // Abwechselnde Zustellung zweier gültiger Nachrichten unter derselben ID
+        byte[] first = "erste".getBytes(StandardCharsets.UTF_8);
+        byte[] second = "zweite".getBytes(StandardCharsets.UTF_8);
+        HmacVerifier.Result[] alternating = {
+                verifier.verify("doppelt", first, mac.doFinal(first)),
+                verifier.verify("doppelt", second, mac.doFinal(second)),
+                verifier.verify("doppelt", first, mac.doFinal(first)),
+                verifier.verify("doppelt", second, new byte[32])
+        };
+        HmacVerifier.Result[] expected = {
+                HmacVerifier.Result.VALID, HmacVerifier.Result.REPLAY,
+                HmacVerifier.Result.REPLAY, HmacVerifier.Result.INVALID
+        };
+        if (!Arrays.equals(alternating, expected)) {
+            System.out.println("Abwechselnde Zustellung: " + Arrays.toString(alternating)
+                    + ", erwartet " + Arrays.toString(expected));
+            System.exit(1);
+        }
+
+        byte[][] bodies = new byte[messages][];
+        byte[][] tags = new byte[messages][];
+        for (int i = 0; i < messages; i++) {
+            bodies[i] = ("Nachricht " + i).getBytes(StandardCharsets.UTF_8);
+            tags[i] = mac.doFinal(bodies[i]);
+        }
+
+        // Pro Nachricht: Anzahl VALID und Anzahl sonstiger Ergebnisse außer REPLAY
+        AtomicInteger[] valid = new AtomicInteger[messages];
+        AtomicInteger unexpected = new AtomicInteger();
+        for (int i = 0; i < messages; i++) {
+            valid[i] = new AtomicInteger();
+        }
+
+        CyclicBarrier barrier = new CyclicBarrier(threads);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                try {
+                    for (int i = 0; i < messages; i++) {
+                        barrier.await();
+                        HmacVerifier.Result result = verifier.verify("id-" + i, bodies[i], tags[i]);
+                        if (result == HmacVerifier.Result.VALID) {
+                            valid[i].incrementAndGet();
+                        } else if (result != HmacVerifier.Result.REPLAY) {
+                            unexpected.incrementAndGet();
+                        }
+                    }
+                } catch (Exception e) {
+                    unexpected.incrementAndGet();
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        int wrong = 0;
+        for (int i = 0; i < messages; i++) {
+            if (valid[i].get() != 1) {
+                wrong++;
+            }
+        }
+        System.out.printf("%d Threads, %d Nachrichten: %d Nachrichten nicht genau einmal VALID, %d unerwartete Ergebnisse%n",
+                threads, messages, wrong, unexpected.get());
+        if (wrong > 0 || unexpected.get() > 0) {
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package HMAC;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Klasse: KeyRing
+ * ---------------
+ * Schlüsselbund für HMAC-Schlüssel aus einer Properties-Datei (z. B. "security.properties").
+ *
+ * - Die Datei wird nur einmal gelesen; jeder Eintrag "keyId=geheimerWert" wird sofort in ein
+ *   fertiges `SecretKeySpec`-Objekt umgewandelt. Beim Signieren gibt es keine Datei-I/O mehr.
+ * - Lesezugriffe sind sperrfrei: Alle Schlüssel liegen in einem unveränderlichen Snapshot,
+ *   der über ein `volatile`-Feld als Ganzes ausgetauscht wird.
+ * - Mit `watch()` überwacht ein `WatchService` die Datei und lädt sie bei Änderungen neu.
+ *   Geladen wird erst, wenn für DEBOUNCE_MILLIS keine weiteren Ereignisse kommen: Ein Editor,
+ *   der die Datei an Ort und Stelle überschreibt, löst mehrere Ereignisse aus, und dazwischen
+ *   ist die Datei leer oder unvollständig.
+ * - Schlüsselrotation: Nach dem Neuladen bleiben die Schlüssel der vorherigen Version weiterhin
+ *   abrufbar (`getPrevious`), damit bereits ausgestellte HMACs noch geprüft werden können.
+ * - Unveränderte Schlüssel behalten ihr `SecretKeySpec`-Objekt, dadurch bleiben die
+ *   Einträge im `MacPool` gültig.
+ */
+public class KeyRing implements Closeable {
+
+    static final long DEBOUNCE_MILLIS = 250;
+
+    private final Path file;
+    private final String algorithm;
+
+    // Aktueller Stand (aktuelle + vorherige Schlüssel), wird nur als Ganzes ersetzt
+    private volatile Snapshot snapshot;
+
+    private WatchService watchService;
+    private Thread watcher;
+
+    /*
+     * Konstruktor: Lädt alle Schlüssel aus der Datei.
+     *
+     * @param file      Pfad zur Properties-Datei
+     * @param algorithm HMAC-Algorithmus der Schlüssel, z. B. "HmacSHA1"
+     */
+    public KeyRing(Path file, String algorithm) throws IOException {
+        if (file == null || algorithm == null) {
+            throw new IllegalArgumentException("File and algorithm must not be null!");
+        }
+        this.file = file.toAbsolutePath();
+        this.algorithm = algorithm;
+        this.snapshot = new Snapshot(load(Collections.emptyMap()), Collections.emptyMap());
+    }
+
+    /*
+     * Liefert den aktuellen Schlüssel zu einer ID.
+     * Wurde der Schlüssel bei der letzten Rotation entfernt, wird die vorherige Version geliefert.
+     */
+    public SecretKeySpec get(String keyId) {
+        Snapshot s = snapshot;
+        SecretKeySpec key = s.current.get(keyId);
+        if (key == null) {
+            key = s.previous.get(keyId);
+        }
+        if (key == null) {
+            throw new IllegalArgumentException("Key '" + keyId + "' not found in file: " + file);
+        }
+        return key;
+    }
+
+    // Liefert den Schlüssel vor der letzten Rotation oder null, falls es keinen gibt.
+    public SecretKeySpec getPrevious(String keyId) {
+        return snapshot.previous.get(keyId);
+    }
+
+    /*
+     * Lädt die Datei neu und tauscht den Snapshot atomar aus.
+     * -------------------------------------------------------
+     * - Schlägt das Laden fehl (z. B. weil die Datei gerade geschrieben wird, leer ist oder
+     *   keine Schlüssel enthält), bleibt der bisherige Stand unverändert - auch der vorherige.
+     * - Erst wenn der neue Stand angenommen ist, wird der bisherige aktuelle Stand
+     *   zum "vorherigen" Stand.
+     */
+    public synchronized void reload() throws IOException {
+        Snapshot old = snapshot;
+        Map<String, SecretKeySpec> keys = load(old.current);
+        if (!keys.equals(old.current)) {
+            snapshot = new Snapshot(keys, old.current);
+        }
+    }
+
+    /*
+     * Startet die Überwachung der Datei in einem Daemon-Thread.
+     * ---------------------------------------------------------
+     * Der `WatchService` beobachtet das Verzeichnis der Datei; Ereignisse für andere
+     * Dateien im selben Verzeichnis werden ignoriert.
+     */
+    public synchronized void watch() throws IOException {
+        if (watcher != null) {
+            return;
+        }
+        watchService = file.getFileSystem().newWatchService();
+        file.getParent().register(watchService,
+                StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+
+        watcher = new Thread(this::watchLoop, "KeyRing-" + file.getFileName());
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    private void watchLoop() {
+        try {
+            while (true) {
+                if (!concernsFile(watchService.take())) {
+                    continue;
+                }
+
+                // Entprellen: warten, bis für DEBOUNCE_MILLIS keine Ereignisse mehr kommen
+                WatchKey next;
+                while ((next = watchService.poll(DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    concernsFile(next);
+                }
+
+                try {
+                    reload();
+                } catch (IOException | IllegalArgumentException e) {
+                    // Alter Stand bleibt aktiv, beim nächsten Ereignis wird erneut geladen
+                    e.printStackTrace();
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // close() wurde aufgerufen
+        }
+    }
+
+    // Holt die Ereignisse ab und meldet, ob eines davon die Schlüsseldatei betrifft
+    private boolean concernsFile(WatchKey key) {
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            Object context = event.context();
+            if (context instanceof Path && file.getFileName().equals(context)) {
+                changed = true;
+            }
+        }
+        key.reset();
+        return changed;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (watcher != null) {
+            watchService.close();
+            watcher.interrupt();
+            watcher = null;
+        }
+    }
+
+    /*
+     * Liest alle Schlüssel aus der Properties-Datei.
+     * ----------------------------------------------
+     * - Die Datei wird zweimal gelesen; unterscheiden sich die Inhalte, wird sie gerade
+     *   geschrieben und das Laden schlägt fehl.
+     * - `Properties.load()` liest die "key=value"-Paare der Datei.
+     * - Jeder Wert wird mit `getBytes()` in ein Byte-Array umgewandelt und als
+     *   `SecretKeySpec` dem Algorithmus zugeordnet.
+     * - Ist ein Schlüssel unverändert, wird das bisherige Objekt wiederverwendet.
+     * - Eine Datei ohne Schlüssel wird abgelehnt (typischerweise gerade abgeschnitten).
+     */
+    private Map<String, SecretKeySpec> load(Map<String, SecretKeySpec> existing) throws IOException {
+        byte[] content = Files.readAllBytes(file);
+        if (!Arrays.equals(content, Files.readAllBytes(file))) {
+            throw new IOException("File is being written: " + file);
+        }
+        Properties properties = new Properties();
+        properties.load(new ByteArrayInputStream(content));
+        if (properties.isEmpty()) {
+            throw new IllegalArgumentException("No keys found in file: " + file);
+        }
+
+        Map<String, SecretKeySpec> keys = new HashMap<>();
+        for (String keyId : properties.stringPropertyNames()) {
+            byte[] keyBytes = properties.getProperty(keyId).getBytes(StandardCharsets.UTF_8);
+            if (keyBytes.length == 0) {
+                throw new IllegalArgumentException("Key '" + keyId + "' is empty in file: " + file);
+            }
+            SecretKeySpec old = existing.get(keyId);
+            keys.put(keyId, old != null && MessageDigest.isEqual(old.getEncoded(), keyBytes)
+                    ? old
+                    : new SecretKeySpec(keyBytes, algorithm));
+        }
+        return Collections.unmodifiableMap(keys);
+    }
+
+    private static final class Snapshot {
+        final Map<String, SecretKeySpec> current;
+        final Map<String, SecretKeySpec> previous;
+
+        Snapshot(Map<String, SecretKeySpec> current, Map<String, SecretKeySpec> previous) {
+            this.current = current;
+            this.previous = previous;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package HMAC;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * Klasse: MacPool
+ * ---------------
+ * - Hält bereits initialisierte `Mac`-Objekte bereit, damit `Mac.getInstance()`,
+ *   `new SecretKeySpec(...)` und `mac.init()` nicht bei jeder Signatur wiederholt werden.
+ * - Die Objekte werden pro Algorithmus und Schlüssel-ID in einer begrenzten Warteschlange abgelegt.
+ * - Thread-sicher: `Mac` selbst ist NICHT thread-sicher, deshalb wird jedes Objekt immer nur
+ *   an genau einen Aufrufer ausgegeben und erst nach `release()` wiederverwendet.
+ *
+ * Verwendung:
+ *     Mac mac = pool.acquire("key", keySpec);
+ *     try {
+ *         byte[] tag = mac.doFinal(data);
+ *     } finally {
+ *         pool.release("key", keySpec, mac);
+ *     }
+ */
+public class MacPool {
+
+    // Pro Algorithmus + Schlüssel-ID: der zugehörige Schlüssel und die freien Mac-Objekte
+    private final ConcurrentMap<String, Slot> slots = new ConcurrentHashMap<>();
+
+    // Maximale Anzahl freier Mac-Objekte pro Schlüssel (überzählige werden verworfen)
+    private final int maxIdlePerKey;
+
+    // Metriken: Treffer (Mac aus dem Pool) und Fehlschläge (Mac neu erzeugt)
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public MacPool() {
+        this(Runtime.getRuntime().availableProcessors() * 2);
+    }
+
+    public MacPool(int maxIdlePerKey) {
+        if (maxIdlePerKey < 1) {
+            throw new IllegalArgumentException("maxIdlePerKey must be at least 1!");
+        }
+        this.maxIdlePerKey = maxIdlePerKey;
+    }
+
+    /*
+     * Liefert ein mit `key` initialisiertes Mac-Objekt.
+     * -------------------------------------------------
+     * - Der Algorithmus wird aus dem Schlüssel übernommen (`key.getAlgorithm()`).
+     * - Wird unter derselben Schlüssel-ID ein anderer Schlüssel übergeben (z. B. nach einer
+     *   Schlüsselrotation), werden die alten Mac-Objekte verworfen. Verglichen wird das
+     *   Schlüsselmaterial, nicht das Objekt: ein neu erzeugtes `SecretKeySpec` mit denselben
+     *   Bytes trifft weiterhin den Pool.
+     */
+    public Mac acquire(String keyId, SecretKeySpec key) {
+        Slot slot = slotFor(keyId, key);
+        Mac mac = slot.idle.poll();
+        if (mac != null) {
+            hits.increment();
+            return mac;
+        }
+
+        misses.increment();
+        try {
+            mac = Mac.getInstance(key.getAlgorithm());
+            mac.init(key);
+            return mac;
+        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new IllegalStateException("Can't initialize Mac for key '" + keyId + "'", e);
+        }
+    }
+
+    /*
+     * Gibt ein Mac-Objekt an den Pool zurück.
+     * ---------------------------------------
+     * - `mac.reset()` verwirft eventuell noch nicht abgeschlossene `update()`-Daten,
+     *   der Schlüssel bleibt erhalten.
+     * - Ist der Pool für diesen Schlüssel voll, wird das Objekt einfach verworfen.
+     */
+    public void release(String keyId, SecretKeySpec key, Mac mac) {
+        if (mac == null) {
+            return;
+        }
+        mac.reset();
+        Slot slot = slots.get(poolKey(keyId, key));
+        if (slot != null && slot.matches(key)) {
+            slot.idle.offer(mac);
+        }
+    }
+
+    // Entfernt alle Mac-Objekte einer Schlüssel-ID (z. B. wenn ein Schlüssel zurückgezogen wird).
+    public void evict(String keyId, String algorithm) {
+        slots.remove(algorithm + ":" + keyId);
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public double getHitRatio() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+
+    private Slot slotFor(String keyId, SecretKeySpec key) {
+        if (keyId == null || key == null) {
+            throw new IllegalArgumentException("Key id and key must not be null!");
+        }
+        String poolKey = poolKey(keyId, key);
+        Slot slot = slots.get(poolKey);
+        if (slot != null && slot.matches(key)) {
+            return slot;
+        }
+        // Anderes Schlüsselmaterial unter derselben ID => neuer Slot
+        return slots.compute(poolKey,
+                (k, current) -> current != null && current.matches(key) ? current : new Slot(key, maxIdlePerKey));
+    }
+
+    private static String poolKey(String keyId, SecretKeySpec key) {
+        return key.getAlgorithm() + ":" + keyId;
+    }
+
+    private static final class Slot {
+        final SecretKeySpec key;
+        final byte[] material;
+        final ArrayBlockingQueue<Mac> idle;
+
+        Slot(SecretKeySpec key, int capacity) {
+            this.key = key;
+            this.material = key.getEncoded();
+            this.idle = new ArrayBlockingQueue<>(capacity);
+        }
+
+        // Dasselbe Objekt ist der schnelle Fall, sonst zählen Algorithmus und Schlüsselbytes
+        boolean matches(SecretKeySpec other) {
+            return other == key
+                    || (other.getAlgorithm().equals(key.getAlgorithm())
+                        && MessageDigest.isEqual(material, other.getEncoded()));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "MacPool[hits=" + getHitCount() + ", misses=" + getMissCount()
+                + ", hitRatio=" + String.format("%.3f", getHitRatio()) + "]";
+    }
+}
@@ -0,0 +1,298 @@
+package HMAC;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/*
+ * Klasse: MerkleHmac
+ * ------------------
+ * Baum-Modus für HMACs über große Dateien (Merkle-Baum).
+ *
+ * - Die Datei wird in Blöcke fester Größe (Chunks) geteilt. Jeder Chunk bekommt einen eigenen
+ *   HMAC (Blatt), die Blätter werden parallel berechnet.
+ * - Je zwei Knoten werden zu einem Elternknoten zusammengefasst, bis nur noch die Wurzel übrig ist.
+ *   Bei ungerader Anzahl wird der letzte Knoten unverändert eine Ebene höher übernommen.
+ * - Mit der Wurzel und einem Beweispfad (die Geschwisterknoten vom Blatt bis zur Wurzel) kann
+ *   jeder einzelne Chunk - und damit jeder Byte-Bereich - geprüft werden, ohne die restliche
+ *   Datei zu lesen.
+ *
+ *     Blatt  = HMAC(0x00 || Dateigröße || Chunk-Index || Chunk-Daten)
+ *     Knoten = HMAC(0x01 || linkes Kind || rechtes Kind)
+ *
+ * Die Präfixe 0x00/0x01 trennen Blätter und Knoten, damit ein Knoten nicht als Blatt
+ * ausgegeben werden kann. Die Dateigröße bindet die Baumform an die Wurzel.
+ * Die Wurzel ist NICHT identisch mit einem normalen HMAC über die ganze Datei.
+ */
+public class MerkleHmac {
+
+    private static final byte LEAF = 0x00;
+    private static final byte NODE = 0x01;
+
+    private final SecretKeySpec key;
+    private final int chunkSize;
+
+    // Pro Thread ein initialisiertes Mac-Objekt und ein Lesepuffer in Chunk-Größe
+    private final ThreadLocal<Mac> mac;
+    private final ThreadLocal<ByteBuffer> buffer;
+
+    public MerkleHmac(SecretKeySpec key, int chunkSize) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key must not be null!");
+        }
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive!");
+        }
+        this.key = key;
+        this.chunkSize = chunkSize;
+        this.mac = ThreadLocal.withInitial(this::newMac);
+        this.buffer = ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(chunkSize));
+        newMac();
+    }
+
+    /*
+     * Berechnet den kompletten Baum einer Datei.
+     * ------------------------------------------
+     * - Blätter: parallel auf dem Fork/Join-Pool, jeder Thread liest seinen Chunk mit
+     *   positionsbasiertem `FileChannel.read()` (thread-sicher, kein gemeinsamer Dateizeiger).
+     * - Innere Knoten: Ebene für Ebene bis zur Wurzel.
+     */
+    public Tree build(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            int leafCount = leafCount(size);
+
+            byte[][] leaves = new byte[leafCount][];
+            try {
+                IntStream.range(0, leafCount).parallel().forEach(i -> {
+                    try {
+                        leaves[i] = leaf(size, i, readChunk(channel, size, i));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+
+            List<byte[][]> levels = new ArrayList<>();
+            levels.add(leaves);
+            byte[][] level = leaves;
+            while (level.length > 1) {
+                byte[][] parent = new byte[(level.length + 1) / 2][];
+                for (int i = 0; i < parent.length; i++) {
+                    parent[i] = 2 * i + 1 < level.length ? node(level[2 * i], level[2 * i + 1]) : level[2 * i];
+                }
+                levels.add(parent);
+                level = parent;
+            }
+            return new Tree(size, levels);
+        }
+    }
+
+    /*
+     * Prüft einen einzelnen Chunk gegen die Wurzel.
+     * ---------------------------------------------
+     * Die Form des Baumes (wo Geschwisterknoten fehlen) wird aus der Dateigröße berechnet,
+     * nicht aus dem Beweis übernommen.
+     *
+     * @param chunk die Chunk-Daten (position..limit)
+     */
+    public boolean verifyChunk(byte[] root, long fileSize, int leafIndex, ByteBuffer chunk, Proof proof) {
+        int leafCount = leafCount(fileSize);
+        if (leafIndex < 0 || leafIndex >= leafCount || chunk.remaining() != chunkLength(fileSize, leafIndex)) {
+            return false;
+        }
+
+        byte[] current = leaf(fileSize, leafIndex, chunk);
+        int index = leafIndex;
+        int width = leafCount;
+        int used = 0;
+        while (width > 1) {
+            boolean hasSibling = (index ^ 1) < width;
+            if (hasSibling) {
+                if (used >= proof.siblings.size()) {
+                    return false;
+                }
+                byte[] sibling = proof.siblings.get(used++);
+                current = (index & 1) == 0 ? node(current, sibling) : node(sibling, current);
+            }
+            index >>= 1;
+            width = (width + 1) / 2;
+        }
+        return used == proof.siblings.size() && MessageDigest.isEqual(current, root);
+    }
+
+    /*
+     * Prüft einen Byte-Bereich: Alle Chunks, die den Bereich überdecken, werden aus dem
+     * Channel gelesen und einzeln gegen die Wurzel geprüft.
+     *
+     * @param proofs Beweise für die Chunks des Bereichs in aufsteigender Reihenfolge
+     *               (siehe `Tree.proofs(offset, length)`)
+     */
+    public boolean verifyRange(byte[] root, long fileSize, FileChannel channel,
+                               long offset, long length, List<Proof> proofs) throws IOException {
+        if (offset < 0 || length < 0 || offset + length > fileSize) {
+            return false;
+        }
+        int first = firstChunk(offset);
+        int last = lastChunk(fileSize, offset, length);
+        if (proofs.size() != last - first + 1) {
+            return false;
+        }
+        for (int i = first; i <= last; i++) {
+            if (!verifyChunk(root, fileSize, i, readChunk(channel, fileSize, i), proofs.get(i - first))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /*
+     * Hilfsmethoden
+     * -------------
+     */
+
+    private ByteBuffer readChunk(FileChannel channel, long fileSize, int index) throws IOException {
+        ByteBuffer chunk = buffer.get();
+        chunk.clear().limit(chunkLength(fileSize, index));
+        long position = (long) index * chunkSize;
+        while (chunk.hasRemaining()) {
+            if (channel.read(chunk, position + chunk.position()) < 0) {
+                throw new IOException("Unexpected end of file at chunk " + index);
+            }
+        }
+        return chunk.flip();
+    }
+
+    private byte[] leaf(long fileSize, long index, ByteBuffer chunk) {
+        Mac m = mac.get();
+        m.update(LEAF);
+        m.update(ByteBuffer.allocate(16).putLong(fileSize).putLong(index).array());
+        m.update(chunk);
+        return m.doFinal();
+    }
+
+    private byte[] node(byte[] left, byte[] right) {
+        Mac m = mac.get();
+        m.update(NODE);
+        m.update(left);
+        m.update(right);
+        return m.doFinal();
+    }
+
+    private int leafCount(long fileSize) {
+        long count = Math.max(1, (fileSize + chunkSize - 1) / chunkSize);
+        if (count > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("File too large for chunk size " + chunkSize);
+        }
+        return (int) count;
+    }
+
+    private int chunkLength(long fileSize, int index) {
+        return (int) Math.max(0, Math.min(chunkSize, fileSize - (long) index * chunkSize));
+    }
+
+    private int firstChunk(long offset) {
+        return (int) (offset / chunkSize);
+    }
+
+    private int lastChunk(long fileSize, long offset, long length) {
+        long end = length == 0 ? offset : offset + length - 1;
+        return (int) Math.min(leafCount(fileSize) - 1, end / chunkSize);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac m = Mac.getInstance(key.getAlgorithm());
+            m.init(key);
+            return m;
+        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new IllegalStateException("Can't initialize Mac for tree mode!", e);
+        }
+    }
+
+    /*
+     * Der berechnete Baum: alle Ebenen, von den Blättern (Ebene 0) bis zur Wurzel.
+     */
+    public final class Tree {
+        private final long fileSize;
+        private final List<byte[][]> levels;
+
+        private Tree(long fileSize, List<byte[][]> levels) {
+            this.fileSize = fileSize;
+            this.levels = levels;
+        }
+
+        public byte[] getRoot() {
+            return levels.get(levels.size() - 1)[0].clone();
+        }
+
+        public long getFileSize() {
+            return fileSize;
+        }
+
+        public int getLeafCount() {
+            return levels.get(0).length;
+        }
+
+        // Beweispfad für einen Chunk: die Geschwisterknoten vom Blatt bis unter die Wurzel.
+        public Proof proof(int leafIndex) {
+            if (leafIndex < 0 || leafIndex >= getLeafCount()) {
+                throw new IllegalArgumentException("Invalid leaf index: " + leafIndex);
+            }
+            List<byte[]> siblings = new ArrayList<>();
+            int index = leafIndex;
+            for (int level = 0; level < levels.size() - 1; level++) {
+                byte[][] nodes = levels.get(level);
+                if ((index ^ 1) < nodes.length) {
+                    siblings.add(nodes[index ^ 1].clone());
+                }
+                index >>= 1;
+            }
+            return new Proof(siblings);
+        }
+
+        // Beweise für alle Chunks, die den Byte-Bereich [offset, offset + length) überdecken.
+        public List<Proof> proofs(long offset, long length) {
+            if (offset < 0 || length < 0 || offset + length > fileSize) {
+                throw new IllegalArgumentException("Range outside of file!");
+            }
+            List<Proof> proofs = new ArrayList<>();
+            for (int i = firstChunk(offset); i <= lastChunk(fileSize, offset, length); i++) {
+                proofs.add(proof(i));
+            }
+            return proofs;
+        }
+    }
+
+    /*
+     * Beweispfad eines Chunks (Liste der Geschwister-HMACs, vom Blatt aufwärts).
+     */
+    public static final class Proof {
+        private final List<byte[]> siblings;
+
+        public Proof(List<byte[]> siblings) {
+            this.siblings = List.copyOf(siblings);
+        }
+
+        public List<byte[]> getSiblings() {
+            return siblings;
+        }
+    }
+}
@@ -1,70 +1,43 @@
 package HMAC;
 
+import Encoding_Decoding.Codec;
+
 import javax.crypto.Mac;
 import javax.crypto.spec.SecretKeySpec;
-import java.io.FileInputStream;
-import java.io.IOException;
-import java.util.Properties;
+import java.nio.file.Path;
 
 public class hmac_ohne_erklärung {
+
+    // Bereits initialisierte Mac-Objekte, wiederverwendet über alle Signaturen hinweg
+    private static final MacPool MAC_POOL = new MacPool();
+
     public static void main(String[] args) {
         try {
 
 
-            String secretKey = readSecretKey("security.properties", "key");
-
             final String ALGORITHM = "HmacSHA1";
 
-            byte[] secretKeyBytes = secretKey.getBytes();
-            SecretKeySpec secretKeySpec = new SecretKeySpec(secretKeyBytes, ALGORITHM);
+            KeyRing keyRing = new KeyRing(Path.of("security.properties"), ALGORITHM);
+            SecretKeySpec secretKeySpec = keyRing.get("key");
 
-            Mac mac = Mac.getInstance(ALGORITHM);
-            mac.init(secretKeySpec);
+            Mac mac = MAC_POOL.acquire("key", secretKeySpec);
 
 
             String data = "Hello, World!";
             byte[] dataBytes = data.getBytes();
 
 
-            byte[] hmacResult = mac.doFinal(dataBytes);
-            System.out.println("HMAC (Hex-Format): " + bytesToHex(hmacResult));
+            byte[] hmacResult;
+            try {
+                hmacResult = mac.doFinal(dataBytes);
+            } finally {
+                MAC_POOL.release("key", secretKeySpec, mac);
+            }
+            System.out.println("HMAC (Hex-Format): " + Codec.toHex(hmacResult));
 
         } catch (Exception e) {
             // Fehlerbehandlung: Gibt Probleme bei Datei-I/O, Algorithmus oder Schlüssel aus.
             e.printStackTrace();
         }
     }
-
-
-    private static String readSecretKey(String filePath, String keyName) throws IOException {
-        // 1. Erstellen einer Properties-Instanz.
-        Properties properties = new Properties();
-
-        try (FileInputStream fis = new FileInputStream(filePath)) {
-            properties.load(fis); // Schlüssel-Wert-Paare aus der Datei laden.
-        }
-
-        String key = properties.getProperty(keyName);
-
-        if (key == null) {
-            throw new IllegalArgumentException("Key '" + keyName + "' not found in file: " + filePath);
-        }
-
-        return key;
-    }
-
-
-    private static String bytesToHex(byte[] bytes) {
-        StringBuilder hexString = new StringBuilder();
-        for (byte b : bytes) {
-            // Byte in Hexadezimalwert umwandeln (0xff entfernt das Vorzeichen).
-            String hex = Integer.toHexString(0xff & b);
-            // Führende Null hinzufügen, falls nötig.
-            if (hex.length() == 1) {
-                hexString.append('0');
-            }
-            hexString.append(hex);
-        }
-        return hexString.toString();
-    }
 }
\ No newline at end of file
@@ -1,13 +1,13 @@
 package Verschlüsselung;
 
-import org.apache.commons.codec.binary.Hex;
-
 import javax.crypto.*;
+import javax.crypto.spec.SecretKeySpec;
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.security.*;
-import java.security.spec.InvalidKeySpecException;
-import java.security.spec.PKCS8EncodedKeySpec;
-import java.security.spec.X509EncodedKeySpec;
 
 /**
  * Diese Klasse implementiert asymmetrische Verschlüsselung und Entschlüsselung
@@ -18,15 +18,56 @@ import java.security.spec.X509EncodedKeySpec;
  */
 public class Asymetrisch {
 
-    public class EncryptedFile {
+    /*
+     * Ein RSA-Cipher pro Thread, gemeinsam für alle `EncryptedFile`-Objekte. Er wird vor jeder
+     * Operation mit dem Schlüssel des Objekts initialisiert; `Cipher.getInstance()` (Provider-Suche)
+     * fällt so nur einmal pro Thread an, nicht für jedes neue Objekt.
+     */
+    private static final ThreadLocal<Cipher> RSA_CIPHER = ThreadLocal.withInitial(() -> {
+        try {
+            return Cipher.getInstance("RSA");
+        } catch (NoSuchAlgorithmException | NoSuchPaddingException e) {
+            throw new IllegalStateException("Can't initialize RSA cipher!", e);
+        }
+    });
+
+    /*
+     * Envelope-Modus (hybride Verschlüsselung)
+     * ----------------------------------------
+     * RSA kann nur sehr kleine Daten verschlüsseln (bei 2048 Bit höchstens 245 Byte) und ist um
+     * Größenordnungen langsamer als AES. Im Envelope-Modus wird deshalb pro Datei ein zufälliger
+     * AES-Schlüssel erzeugt, nur dieser wird mit RSA (OAEP) verschlüsselt ("eingepackt"),
+     * die eigentlichen Daten laufen streamend durch AES-GCM in Segmenten (`SegmentedGcmFile`):
+     *
+     *     [Länge des eingepackten Schlüssels: 4 Byte][eingepackter AES-Schlüssel][SegmentedGcmFile-Daten]
+     *
+     * Die ersten beiden Felder gehen als AAD in jedes Segment ein. Manipulierte Daten oder ein
+     * ausgetauschter Schlüssel fallen also beim Lesen auf (IOException), statt unbemerkt
+     * veränderten Klartext zu liefern. Gelesen wird weiterhin mit konstantem Speicherbedarf.
+     */
+    static final String WRAP_TRANSFORMATION = "RSA/ECB/OAEPWithSHA-256AndMGF1Padding";
+    static final int ENVELOPE_KEY_SIZE = 32;
+    private static final int MAX_WRAPPED_KEY_SIZE = 2048;
+
+    private static final SecureRandom RANDOM = new SecureRandom();
 
-        private PrivateKey privateKey; // Privater Schlüssel zum Entschlüsseln
-        private PublicKey publicKey; // Öffentlicher Schlüssel zum Verschlüsseln
-        private Cipher cipher; // Verschlüsselungs-Engine
+    // Ein RSA-OAEP-Cipher pro Thread zum Ein- und Auspacken der AES-Schlüssel
+    private static final ThreadLocal<Cipher> WRAP_CIPHER = ThreadLocal.withInitial(() -> {
+        try {
+            return Cipher.getInstance(WRAP_TRANSFORMATION);
+        } catch (NoSuchAlgorithmException | NoSuchPaddingException e) {
+            throw new IllegalStateException("Can't initialize RSA cipher!", e);
+        }
+    });
+
+    public class EncryptedFile implements EncryptionEngine {
+
+        private final PrivateKey privateKey; // Privater Schlüssel zum Entschlüsseln
+        private final PublicKey publicKey; // Öffentlicher Schlüssel zum Verschlüsseln
 
         /**
-         * Konstruktor: Initialisiert die RSA-Schlüssel (öffentlich und privat) und
-         * setzt die Verschlüsselungs-Engine (`Cipher`) auf RSA.
+         * Konstruktor: Initialisiert die RSA-Schlüssel (öffentlich und privat).
+         * Die Schlüssel werden über die {@link RsaKeyRegistry} nur beim ersten Mal geparst.
          *
          * @param publicKeyString  Der öffentliche Schlüssel als hexadezimaler String.
          * @param privateKeyString Der private Schlüssel als hexadezimaler String.
@@ -39,40 +80,47 @@ public class Asymetrisch {
                 throw new IllegalArgumentException("Invalid private key string! Der private Schlüssel darf nicht null sein.");
 
             try {
-                // Konvertiere den hexadezimalen String in ein Byte-Array
-                byte[] publicKeyBytes = Hex.decodeHex(publicKeyString.toCharArray());
-                byte[] privateKeyBytes = Hex.decodeHex(privateKeyString.toCharArray());
-
-                // Erzeuge KeyFactory, um Schlüsselobjekte zu erstellen
-                KeyFactory factory = KeyFactory.getInstance("RSA");
-
-                // Erstelle private und öffentliche Schlüssel
-                privateKey = factory.generatePrivate(new PKCS8EncodedKeySpec(privateKeyBytes));
-                publicKey = factory.generatePublic(new X509EncodedKeySpec(publicKeyBytes));
-
-                // Initialisiere die Cipher-Instanz für RSA
-                cipher = Cipher.getInstance("RSA");
-            } catch (NoSuchAlgorithmException | InvalidKeySpecException | DecoderException | NoSuchPaddingException e) {
+                // Schlüssel aus der Registry holen (Parsing nur beim ersten Zugriff)
+                RsaKeyRegistry registry = RsaKeyRegistry.getDefault();
+                publicKey = registry.publicKey(publicKeyString);
+                privateKey = registry.privateKey(privateKeyString);
+            } catch (IllegalArgumentException e) {
                 throw new IllegalStateException("Can't initialize EncryptedFile object! Fehler beim Initialisieren der Schlüssel.", e);
             }
         }
 
+        /**
+         * Konstruktor: Verwendet bereits geparste Schlüssel (z. B. aus der {@link RsaKeyRegistry}).
+         *
+         * @param publicKey  Der öffentliche Schlüssel.
+         * @param privateKey Der private Schlüssel.
+         */
+        public EncryptedFile(PublicKey publicKey, PrivateKey privateKey) {
+            if (publicKey == null || privateKey == null)
+                throw new IllegalArgumentException("Invalid key! Die Schlüssel dürfen nicht null sein.");
+
+            this.publicKey = publicKey;
+            this.privateKey = privateKey;
+        }
+
         /**
          * Methode: Verschlüsselt die angegebenen Daten und speichert sie in einer Datei.
          *
          * @param filename Der Name der Datei, in der die verschlüsselten Daten gespeichert werden.
          * @param data     Die zu verschlüsselnden Daten als Byte-Array.
          */
+        @Override
         public void saveEncrypted(String filename, byte[] data) {
             if (filename == null || data == null)
                 throw new IllegalArgumentException("Invalid filename or data! Der Dateiname oder die Daten sind ungültig.");
 
             try {
-                // Initialisiere die Cipher-Engine im ENCRYPT_MODE mit dem öffentlichen Schlüssel
-                cipher.init(Cipher.ENCRYPT_MODE, publicKey);
+                // Initialisiere die Cipher-Engine des aktuellen Threads im ENCRYPT_MODE mit dem öffentlichen Schlüssel
+                Cipher c = RSA_CIPHER.get();
+                c.init(Cipher.ENCRYPT_MODE, publicKey);
 
                 // Verschlüsselt die Eingabedaten
-                byte[] cipherText = cipher.doFinal(data);
+                byte[] cipherText = c.doFinal(data);
 
                 // Speichert die verschlüsselten Daten in der angegebenen Datei
                 save(filename, cipherText);
@@ -87,6 +135,7 @@ public class Asymetrisch {
          * @param filename Der Name der Datei, aus der die verschlüsselten Daten geladen werden.
          * @return Die entschlüsselten Daten als Byte-Array.
          */
+        @Override
         public byte[] loadEncrypted(String filename) {
             if (filename == null)
                 throw new IllegalArgumentException("Invalid filename! Der Dateiname darf nicht null sein.");
@@ -95,19 +144,136 @@ public class Asymetrisch {
                 // Lese die verschlüsselten Daten aus der Datei
                 byte[] data = load(filename);
 
-                // Initialisiere die Cipher-Engine im DECRYPT_MODE mit dem privaten Schlüssel
-                cipher.init(Cipher.DECRYPT_MODE, privateKey);
+                // Initialisiere die Cipher-Engine des aktuellen Threads im DECRYPT_MODE mit dem privaten Schlüssel
+                Cipher c = RSA_CIPHER.get();
+                c.init(Cipher.DECRYPT_MODE, privateKey);
 
                 // Entschlüsselt die geladenen Daten und gibt sie zurück
-                return cipher.doFinal(data);
+                return c.doFinal(data);
             } catch (InvalidKeyException | IllegalBlockSizeException | BadPaddingException e) {
                 throw new IllegalStateException("Unable to decrypt data! Fehler beim Entschlüsseln der Daten.", e);
             }
-        }}}
+        }
 
-/**
- * Speichert ein Byte-Array in einer Datei.
- *
- * @param filename Der Name der Datei.
- * @param data     Die zu speichernden Daten.
+        /**
+         * Methode: Verschlüsselt einen Eingabestream im Envelope-Modus und speichert ihn in einer Datei.
+         * Für beliebig große Daten, der Speicherbedarf bleibt konstant.
+         *
+         * @param target Die Zieldatei.
+         * @param in     Die zu verschlüsselnden Daten (wird nicht geschlossen).
+         */
+        public void saveEnvelope(Path target, InputStream in) {
+            if (target == null || in == null)
+                throw new IllegalArgumentException("Invalid filename or data! Der Dateiname oder die Daten sind ungültig.");
+
+            try (FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                // Zufälliger AES-Schlüssel für genau diese Datei
+                byte[] keyBytes = new byte[ENVELOPE_KEY_SIZE];
+                RANDOM.nextBytes(keyBytes);
+                SecretKey fileKey = new SecretKeySpec(keyBytes, "AES");
 
+                // AES-Schlüssel mit dem öffentlichen RSA-Schlüssel einpacken
+                Cipher wrap = WRAP_CIPHER.get();
+                wrap.init(Cipher.WRAP_MODE, publicKey);
+                byte[] wrapped = wrap.wrap(fileKey);
+
+                byte[] header = ByteBuffer.allocate(4 + wrapped.length).putInt(wrapped.length).put(wrapped).array();
+                Symmetrisch.writeFully(out, ByteBuffer.wrap(header));
+
+                // Daten streamend und authentifiziert verschlüsseln, der Kopf ist Teil der AAD
+                new SegmentedGcmFile(keyBytes, SegmentedGcmFile.DEFAULT_SEGMENT_SIZE).write(out, in, header);
+            } catch (IOException e) {
+                throw new IllegalStateException("Unable to save data to file! Fehler beim Speichern der Datei.", e);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("Unable to encrypt data! Fehler beim Verschlüsseln der Daten.", e);
+            }
+        }
+
+        /**
+         * Methode: Öffnet eine im Envelope-Modus verschlüsselte Datei als Stream.
+         * Der AES-Schlüssel wird mit dem privaten Schlüssel ausgepackt, die Daten werden beim Lesen
+         * segmentweise entschlüsselt und geprüft. Ein manipuliertes Segment führt beim Lesen zu
+         * einer IOException; bis dahin gelieferte Daten sind authentisch.
+         *
+         * @param source Die verschlüsselte Datei.
+         * @return Ein InputStream mit den entschlüsselten Daten (muss geschlossen werden).
+         */
+        public InputStream openEnvelope(Path source) {
+            if (source == null)
+                throw new IllegalArgumentException("Invalid filename! Der Dateiname darf nicht null sein.");
+
+            FileChannel channel = null;
+            try {
+                channel = FileChannel.open(source, StandardOpenOption.READ);
+
+                // Kopf lesen: Länge, eingepackter Schlüssel
+                int length = readFully(channel, ByteBuffer.allocate(4)).getInt();
+                if (length < 1 || length > MAX_WRAPPED_KEY_SIZE)
+                    throw new IOException("Invalid envelope header!");
+                byte[] wrapped = readFully(channel, ByteBuffer.allocate(length)).array();
+                byte[] header = ByteBuffer.allocate(4 + length).putInt(length).put(wrapped).array();
+
+                // AES-Schlüssel mit dem privaten RSA-Schlüssel auspacken
+                Cipher unwrap = WRAP_CIPHER.get();
+                unwrap.init(Cipher.UNWRAP_MODE, privateKey);
+                Key fileKey = unwrap.unwrap(wrapped, "AES", Cipher.SECRET_KEY);
+
+                // Der Stream übernimmt den Kanal
+                return new SegmentedGcmFile(fileKey.getEncoded(), SegmentedGcmFile.DEFAULT_SEGMENT_SIZE).open(channel, header);
+            } catch (IOException e) {
+                closeQuietly(channel);
+                throw new IllegalStateException("Unable to load data from file! Fehler beim Laden der Datei.", e);
+            } catch (GeneralSecurityException e) {
+                closeQuietly(channel);
+                throw new IllegalStateException("Unable to decrypt data! Fehler beim Entschlüsseln der Daten.", e);
+            }
+        }
+
+        /**
+         * Speichert ein Byte-Array in einer Datei.
+         *
+         * @param filename Der Name der Datei.
+         * @param data     Die zu speichernden Daten.
+         */
+        private void save(String filename, byte[] data) {
+            try (FileOutputStream fos = new FileOutputStream(filename)) {
+                fos.write(data);
+            } catch (IOException e) {
+                throw new IllegalStateException("Unable to save data to file! Fehler beim Speichern der Datei.", e);
+            }
+        }
+
+        /**
+         * Lädt ein Byte-Array aus einer Datei.
+         *
+         * @param filename Der Name der Datei.
+         * @return Die geladenen Daten.
+         */
+        private byte[] load(String filename) {
+            try (FileInputStream fis = new FileInputStream(filename)) {
+                return fis.readAllBytes();
+            } catch (IOException e) {
+                throw new IllegalStateException("Unable to load data from file! Fehler beim Laden der Datei.", e);
+            }
+        }
+
+        private ByteBuffer readFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0)
+                    throw new EOFException("Unexpected end of file!");
+            }
+            return buffer.flip();
+        }
+
+        private void closeQuietly(Closeable closeable) {
+            if (closeable != null) {
+                try {
+                    closeable.close();
+                } catch (IOException ignored) {
+                    // Der eigentliche Fehler wird weitergegeben
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package Verschlüsselung;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/*
+ * Misst den Durchsatz von `BulkEncryptionJob` bei vielen kleinen Dateien.
+ * -----------------------------------------------------------------------
+ * Aufruf: java Verschlüsselung.BulkEncryptionBenchmark [Anzahl Dateien] [Dateigröße in Bytes]
+ *
+ * Die Dateien werden auf 100 Unterverzeichnisse verteilt und mit 1, 4, 16, 64 und 256
+ * gleichzeitig bearbeiteten Dateien ver- und wieder entschlüsselt. Ausgegeben werden Dateien/s.
+ */
+public class BulkEncryptionBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+        int size = args.length > 1 ? Integer.parseInt(args[1]) : 4096;
+
+        SegmentedGcmFile file = new SegmentedGcmFile("000102030405060708090a0b0c0d0e0f101112131415161718191a1b1c1d1e1f");
+
+        Path root = Files.createTempDirectory("bulk-benchmark");
+        try {
+            Path plain = root.resolve("plain");
+            createFiles(plain, count, size);
+            System.out.printf("%d Dateien zu je %d Bytes%n", count, size);
+            System.out.println("Parallel   encrypt Dateien/s   decrypt Dateien/s   Fehler");
+
+            for (int concurrency : new int[]{1, 4, 16, 64, 256}) {
+                BulkEncryptionJob job = new BulkEncryptionJob(file, concurrency);
+                BulkEncryptionJob.Result encrypted = job.encryptTree(plain, root.resolve("enc"), null);
+                BulkEncryptionJob.Result decrypted = job.decryptTree(root.resolve("enc"), root.resolve("dec"), null);
+                System.out.printf("%8d %19.0f %19.0f %8d%n", concurrency,
+                        encrypted.getFilesPerSecond(), decrypted.getFilesPerSecond(),
+                        encrypted.getFailed() + decrypted.getFailed());
+            }
+        } finally {
+            deleteTree(root);
+        }
+    }
+
+    private static void createFiles(Path dir, int count, int size) throws IOException {
+        Random random = new Random(42);
+        byte[] data = new byte[size];
+        for (int i = 0; i < count; i++) {
+            Path sub = dir.resolve("d" + (i % 100));
+            Files.createDirectories(sub);
+            random.nextBytes(data);
+            Files.write(sub.resolve("f" + i + ".bin"), data);
+        }
+    }
+
+    private static void deleteTree(Path root) throws IOException {
+        try (Stream<Path> paths = Files.walk(root)) {
+            for (Path p : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(p);
+            }
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package Verschlüsselung;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/*
+ * Klasse: BulkEncryptionJob
+ * -------------------------
+ * Ver- bzw. Entschlüsselt alle Dateien eines Verzeichnisbaums mit einem `SegmentedGcmFile`.
+ *
+ * - Jede Datei bekommt über das zufällige Salt im Kopf einen eigenen Schlüssel und eigene Nonces.
+ *   Mit `Symmetrisch.EncryptedFile` (fester Schlüssel und IV) würden alle Dateien denselben
+ *   CTR-Schlüsselstrom verwenden, das XOR zweier Ausgabedateien wäre das XOR ihrer Klartexte.
+ *   Außerdem fallen manipulierte Dateien beim Entschlüsseln als Fehler auf.
+ * - Bei vielen kleinen Dateien wird die Laufzeit vom Warten auf I/O bestimmt, nicht von AES.
+ *   Deshalb wird jede Datei in einer eigenen Aufgabe verarbeitet, viele Dateien gleichzeitig.
+ * - Die Anzahl gleichzeitig bearbeiteter Dateien begrenzt ein Semaphor. Der Verzeichnis-Durchlauf
+ *   wartet, bis wieder ein Platz frei ist, es stauen sich also keine Aufgaben an.
+ * - Der Executor ist austauschbar. Standard ist ein Cached Thread Pool (ein Thread pro laufender
+ *   Aufgabe, durch das Semaphor begrenzt). Ab Java 21 kann hier
+ *   `Executors.newVirtualThreadPerTaskExecutor()` übergeben werden.
+ * - Jede Datei wird zuerst in eine temporäre Datei im Zielverzeichnis geschrieben und dann mit
+ *   `ATOMIC_MOVE` umbenannt. Ein abgebrochener Lauf hinterlässt keine halb geschriebenen Dateien.
+ * - Fehler einzelner Dateien brechen den Lauf nicht ab, sie werden im Ergebnis gesammelt.
+ * - Das Zielverzeichnis darf nicht im Quellverzeichnis liegen (oder mit ihm identisch sein),
+ *   sonst würden bereits geschriebene Dateien im selben Lauf erneut verarbeitet bzw. überschrieben.
+ */
+public class BulkEncryptionJob {
+
+    /*
+     * Wird nach jeder fertigen Datei aufgerufen, aus den Worker-Threads heraus
+     * (muss also thread-sicher sein).
+     */
+    public interface ProgressListener {
+        void onProgress(long succeeded, long failed, double filesPerSecond);
+    }
+
+    private final SegmentedGcmFile file;
+    private final int maxConcurrency;
+    private final ExecutorService executor;
+
+    public BulkEncryptionJob(SegmentedGcmFile file, int maxConcurrency) {
+        this(file, maxConcurrency, null);
+    }
+
+    /*
+     * Konstruktor
+     *
+     * @param file           der (thread-sichere) Verschlüssler
+     * @param maxConcurrency maximale Anzahl gleichzeitig bearbeiteter Dateien
+     * @param executor       Executor für die Aufgaben; null = pro Lauf ein eigener Cached Thread Pool
+     */
+    public BulkEncryptionJob(SegmentedGcmFile file, int maxConcurrency, ExecutorService executor) {
+        if (file == null) {
+            throw new IllegalArgumentException("SegmentedGcmFile must not be null!");
+        }
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency must be at least 1!");
+        }
+        this.file = file;
+        this.maxConcurrency = maxConcurrency;
+        this.executor = executor;
+    }
+
+    // Verschlüsselt alle Dateien unter `sourceDir` nach `targetDir` (gleiche relative Pfade).
+    public Result encryptTree(Path sourceDir, Path targetDir, ProgressListener listener) {
+        return run(sourceDir, targetDir, listener, (source, temp) -> {
+            try (InputStream in = Files.newInputStream(source)) {
+                file.saveEncrypted(temp, in);
+            }
+        });
+    }
+
+    // Entschlüsselt alle Dateien unter `sourceDir` nach `targetDir` (gleiche relative Pfade).
+    public Result decryptTree(Path sourceDir, Path targetDir, ProgressListener listener) {
+        return run(sourceDir, targetDir, listener, (source, temp) -> {
+            try (InputStream in = file.openDecrypted(source)) {
+                Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+        });
+    }
+
+    private Result run(Path sourceDir, Path targetDir, ProgressListener listener, FileTask task) {
+        if (sourceDir == null || targetDir == null) {
+            throw new IllegalArgumentException("Source and target directory must not be null!");
+        }
+        if (!Files.isDirectory(sourceDir)) {
+            throw new IllegalArgumentException("Not a directory: " + sourceDir);
+        }
+        if (realPath(targetDir).startsWith(realPath(sourceDir))) {
+            throw new IllegalArgumentException("Target directory " + targetDir
+                    + " must not be the source directory or lie inside it: " + sourceDir);
+        }
+
+        ExecutorService pool = executor != null ? executor : Executors.newCachedThreadPool(daemonThreads());
+        Semaphore permits = new Semaphore(maxConcurrency);
+        LongAdder succeeded = new LongAdder();
+        LongAdder failed = new LongAdder();
+        Queue<Path> failures = new ConcurrentLinkedQueue<>();
+        long start = System.nanoTime();
+
+        try (Stream<Path> files = Files.walk(sourceDir)) {
+            Iterator<Path> iterator = files.filter(Files::isRegularFile).iterator();
+            while (iterator.hasNext()) {
+                Path source = iterator.next();
+                Path target = targetDir.resolve(sourceDir.relativize(source).toString());
+
+                permits.acquire();
+                try {
+                    pool.execute(() -> {
+                        try {
+                            processFile(source, target, task);
+                            succeeded.increment();
+                        } catch (IOException | RuntimeException e) {
+                            failures.add(source);
+                            failed.increment();
+                        } finally {
+                            try {
+                                if (listener != null) {
+                                    listener.onProgress(succeeded.sum(), failed.sum(), rate(succeeded.sum(), start));
+                                }
+                            } finally {
+                                permits.release();
+                            }
+                        }
+                    });
+                } catch (RuntimeException e) {
+                    permits.release();
+                    throw e;
+                }
+            }
+
+            // Warten, bis alle Aufgaben fertig sind
+            permits.acquire(maxConcurrency);
+            permits.release(maxConcurrency);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to walk directory " + sourceDir, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Bulk job was interrupted!", e);
+        } finally {
+            if (executor == null) {
+                pool.shutdown();
+            }
+        }
+
+        return new Result(succeeded.sum(), failed.sum(), new ArrayList<>(failures), System.nanoTime() - start);
+    }
+
+    /*
+     * Schreibt eine Datei über eine temporäre Datei im Zielverzeichnis und benennt sie dann atomar um.
+     * Die temporäre Datei liegt im selben Verzeichnis, damit `ATOMIC_MOVE` möglich ist.
+     */
+    private static void processFile(Path source, Path target, FileTask task) throws IOException {
+        Path parent = target.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, "." + target.getFileName(), ".tmp");
+        try {
+            task.process(source, temp);
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /*
+     * Wirklicher Pfad (symbolische Links aufgelöst), auch wenn `path` noch nicht existiert:
+     * der längste existierende Teil wird aufgelöst, der Rest angehängt.
+     */
+    private static Path realPath(Path path) {
+        Path absolute = path.toAbsolutePath().normalize();
+        Path existing = absolute;
+        while (existing != null && !Files.exists(existing)) {
+            existing = existing.getParent();
+        }
+        if (existing == null) {
+            return absolute;
+        }
+        try {
+            return existing.toRealPath().resolve(existing.relativize(absolute));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Unable to resolve directory " + path, e);
+        }
+    }
+
+    private static double rate(long files, long start) {
+        double seconds = (System.nanoTime() - start) / 1e9;
+        return seconds > 0 ? files / seconds : 0.0;
+    }
+
+    private static ThreadFactory daemonThreads() {
+        return runnable -> {
+            Thread thread = new Thread(runnable, "bulk-encryption");
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private interface FileTask {
+        void process(Path source, Path temp) throws IOException;
+    }
+
+    /*
+     * Ergebnis eines Laufs.
+     */
+    public static final class Result {
+        private final long succeeded;
+        private final long failed;
+        private final List<Path> failures;
+        private final long elapsedNanos;
+
+        Result(long succeeded, long failed, List<Path> failures, long elapsedNanos) {
+            this.succeeded = succeeded;
+            this.failed = failed;
+            this.failures = List.copyOf(failures);
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        // Anzahl erfolgreich verarbeiteter Dateien
+        public long getSucceeded() {
+            return succeeded;
+        }
+
+        public long getFailed() {
+            return failed;
+        }
+
+        // Anzahl bearbeiteter Dateien (erfolgreich und fehlgeschlagen)
+        public long getProcessed() {
+            return succeeded + failed;
+        }
+
+        // Quelldateien, die nicht verarbeitet werden konnten
+        public List<Path> getFailures() {
+            return failures;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        // Erfolgreich verarbeitete Dateien pro Sekunde
+        public double getFilesPerSecond() {
+            return elapsedNanos > 0 ? succeeded / (elapsedNanos / 1e9) : 0.0;
+        }
+
+        @Override
+        public String toString() {
+            return "Result[succeeded=" + succeeded + ", failed=" + failed
+                    + ", filesPerSecond=" + String.format("%.0f", getFilesPerSecond()) + "]";
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package Verschlüsselung;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/*
+ * Vergleicht Compress-then-Encrypt für verschiedene Deflate-Stufen.
+ * -----------------------------------------------------------------
+ * Aufruf: java Verschlüsselung.CompressionBenchmark [Dateigröße in MiB] [Wiederholungen] [Datei]
+ *
+ * Ohne Datei werden textähnliche Testdaten erzeugt (zufällige Wörter aus einem kleinen Wortschatz).
+ * Pro Stufe werden Dateigröße nach Kompression (Verhältnis Klartext / Datei) und der beste
+ * Durchsatz beim Speichern (`saveCompressed`) und Laden (`loadCompressed`) ausgegeben.
+ * Der Durchsatz bezieht sich immer auf die Klartextgröße.
+ */
+public class CompressionBenchmark {
+
+    private static final String[] WORDS = {
+            "Schlüssel", "Datei", "verschlüsseln", "und", "der", "die", "das", "Cipher", "Block",
+            "Daten", "Nachricht", "Länge", "mit", "ohne", "Fehler", "id", "name", "value", "true",
+            "false", "{", "}", "\"timestamp\":", "\"user\":", "2024-01-01T12:00:00Z", "null"
+    };
+
+    public static void main(String[] args) throws Exception {
+        int sizeMiB = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+
+        Symmetrisch.EncryptedFile file = new Symmetrisch().new EncryptedFile(
+                "000102030405060708090a0b0c0d0e0f", "f0e0d0c0b0a090807060504030201000");
+
+        Path plain = args.length > 2 ? Path.of(args[2]) : Files.createTempFile("compression-benchmark", ".txt");
+        Path encrypted = Files.createTempFile("compression-benchmark", ".enc");
+        try {
+            if (args.length <= 2) {
+                createTextFile(plain, sizeMiB);
+            }
+            long size = Files.size(plain);
+            double mib = size / (1024.0 * 1024.0);
+            System.out.printf("Dateigröße: %.1f MiB%n", mib);
+            System.out.println("Codec        Verhältnis   Speichern MiB/s   Laden MiB/s");
+
+            CompressionCodec[] codecs = {
+                    CompressionCodec.NONE, CompressionCodec.deflate(1), CompressionCodec.deflate(3),
+                    CompressionCodec.deflate(6), CompressionCodec.deflate(9)
+            };
+            for (CompressionCodec codec : codecs) {
+                double save = 0;
+                double load = 0;
+                for (int r = 0; r < rounds; r++) {
+                    long start = System.nanoTime();
+                    try (InputStream in = Files.newInputStream(plain)) {
+                        file.saveCompressed(encrypted, in, codec);
+                    }
+                    save = Math.max(save, mib / ((System.nanoTime() - start) / 1e9));
+
+                    start = System.nanoTime();
+                    file.loadCompressed(encrypted, OutputStream.nullOutputStream());
+                    load = Math.max(load, mib / ((System.nanoTime() - start) / 1e9));
+                }
+                String name = codec instanceof DeflateCodec
+                        ? "deflate-" + ((DeflateCodec) codec).getLevel() : "none";
+                System.out.printf("%-12s %9.2fx %17.1f %13.1f%n",
+                        name, (double) size / Files.size(encrypted), save, load);
+            }
+        } finally {
+            if (args.length <= 2) {
+                Files.deleteIfExists(plain);
+            }
+            Files.deleteIfExists(encrypted);
+        }
+    }
+
+    static void createTextFile(Path file, int sizeMiB) throws Exception {
+        Random random = new Random(42);
+        long target = sizeMiB * 1024L * 1024L;
+        StringBuilder line = new StringBuilder();
+        try (OutputStream out = Files.newOutputStream(file)) {
+            long written = 0;
+            while (written < target) {
+                line.setLength(0);
+                int words = 5 + random.nextInt(15);
+                for (int i = 0; i < words; i++) {
+                    line.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+                }
+                line.append(random.nextInt(100000)).append('\n');
+                byte[] bytes = line.toString().getBytes(StandardCharsets.UTF_8);
+                out.write(bytes);
+                written += bytes.length;
+            }
+        }
+    }
+}
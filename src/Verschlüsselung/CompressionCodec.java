@@ -0,0 +1,65 @@
+package Verschlüsselung;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+
+/*
+ * Schnittstelle: CompressionCodec
+ * -------------------------------
+ * Kompressionsstufe, die vor der Verschlüsselung läuft (Compress-then-Encrypt).
+ *
+ * - Verschlüsselte Daten sehen zufällig aus und lassen sich nicht mehr komprimieren,
+ *   deshalb muss vor dem Cipher komprimiert werden.
+ * - Die ID wird im Kopf der Datei gespeichert, damit beim Lesen der passende Codec
+ *   gewählt werden kann (siehe `forId`).
+ * - Beide Methoden arbeiten streamend und schließen die übergebenen Streams nicht.
+ */
+public interface CompressionCodec {
+
+    // Keine Kompression: die Daten werden unverändert durchgereicht
+    CompressionCodec NONE = new CompressionCodec() {
+        @Override
+        public int getId() {
+            return 0;
+        }
+
+        @Override
+        public void compress(InputStream in, OutputStream out) throws IOException {
+            in.transferTo(out);
+        }
+
+        @Override
+        public void decompress(InputStream in, OutputStream out) throws IOException {
+            in.transferTo(out);
+        }
+    };
+
+    // Deflate mit der Standard-Kompressionsstufe
+    CompressionCodec DEFLATE = new DeflateCodec(Deflater.DEFAULT_COMPRESSION);
+
+    // ID im Dateikopf (0 bis 255)
+    int getId();
+
+    void compress(InputStream in, OutputStream out) throws IOException;
+
+    void decompress(InputStream in, OutputStream out) throws IOException;
+
+    // Deflate mit einer bestimmten Kompressionsstufe (0 bis 9)
+    static CompressionCodec deflate(int level) {
+        return new DeflateCodec(level);
+    }
+
+    // Liefert den Codec zu einer ID aus dem Dateikopf.
+    static CompressionCodec forId(int id) {
+        switch (id) {
+            case 0:
+                return NONE;
+            case DeflateCodec.ID:
+                return DEFLATE;
+            default:
+                throw new IllegalArgumentException("Unknown compression codec: " + id);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package Verschlüsselung;
+
+import Encoding_Decoding.Codec;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * Stresstest und Durchsatzmessung für gemeinsam genutzte EncryptedFile-Objekte.
+ * -----------------------------------------------------------------------------
+ * Aufruf: java Verschlüsselung.ConcurrencyBenchmark [Sekunden pro Messung] [Datengröße AES in Bytes]
+ *
+ * Für 1, 2, 4, ... 64 Threads teilen sich alle Threads EIN `Symmetrisch.EncryptedFile`-
+ * bzw. `Asymetrisch.EncryptedFile`-Objekt. Jeder Thread verschlüsselt eigene Zufallsdaten in
+ * eine eigene Datei, entschlüsselt sie wieder und vergleicht das Ergebnis.
+ *
+ * - Stresstest: Jede Abweichung wird als Fehler gezählt. Mit dem früheren gemeinsamen
+ *   `Cipher`-Feld kam es hier zu vertauschten oder beschädigten Daten.
+ * - Benchmark:  Ausgegeben werden Operationen/s (ein Speichern + Laden = 1 Operation).
+ */
+public class ConcurrencyBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        double seconds = args.length > 0 ? Double.parseDouble(args[0]) : 2.0;
+        int aesSize = args.length > 1 ? Integer.parseInt(args[1]) : 64 * 1024;
+
+        Symmetrisch.EncryptedFile aes = new Symmetrisch().new EncryptedFile(
+                "000102030405060708090a0b0c0d0e0f", "f0e0d0c0b0a090807060504030201000");
+
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        KeyPair keyPair = generator.generateKeyPair();
+        Asymetrisch.EncryptedFile rsa = new Asymetrisch().new EncryptedFile(
+                Codec.toHex(keyPair.getPublic().getEncoded()), Codec.toHex(keyPair.getPrivate().getEncoded()));
+
+        Path dir = Files.createTempDirectory("concurrency-benchmark");
+        try {
+            System.out.println("Threads    AES ops/s   Fehler    RSA ops/s   Fehler");
+            for (int threads = 1; threads <= 64; threads *= 2) {
+                Result a = measure(threads, seconds, dir, "aes", aesSize,
+                        (file, data) -> {
+                            aes.saveEncrypted(file, data);
+                            return aes.loadEncrypted(file);
+                        });
+                Result r = measure(threads, seconds, dir, "rsa", 128,
+                        (file, data) -> {
+                            rsa.saveEncrypted(file, data);
+                            return rsa.loadEncrypted(file);
+                        });
+                System.out.printf("%7d %12.0f %8d %12.0f %8d%n",
+                        threads, a.opsPerSecond, a.errors, r.opsPerSecond, r.errors);
+            }
+        } finally {
+            try (var files = Files.list(dir)) {
+                for (Path p : (Iterable<Path>) files::iterator) {
+                    Files.deleteIfExists(p);
+                }
+            }
+            Files.deleteIfExists(dir);
+        }
+    }
+
+    private static Result measure(int threads, double seconds, Path dir, String prefix, int size,
+                                  RoundTrip roundTrip) throws InterruptedException {
+        AtomicLong ops = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        CountDownLatch start = new CountDownLatch(1);
+        long deadline = System.nanoTime() + (long) (seconds * 1e9);
+
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            String file = dir.resolve(prefix + "-" + t + ".bin").toString();
+            byte[] data = new byte[size];
+            new Random(t).nextBytes(data);
+
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                    while (System.nanoTime() < deadline) {
+                        try {
+                            if (!Arrays.equals(data, roundTrip.run(file, data))) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (RuntimeException e) {
+                            errors.incrementAndGet();
+                        }
+                        ops.incrementAndGet();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            worker.start();
+            workers.add(worker);
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        double elapsed = (System.nanoTime() - begin) / 1e9;
+        return new Result(ops.get() / elapsed, errors.get());
+    }
+
+    private interface RoundTrip {
+        byte[] run(String file, byte[] data);
+    }
+
+    private static final class Result {
+        final double opsPerSecond;
+        final long errors;
+
+        Result(double opsPerSecond, long errors) {
+            this.opsPerSecond = opsPerSecond;
+            this.errors = errors;
+        }
+    }
+}
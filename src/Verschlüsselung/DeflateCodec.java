@@ -0,0 +1,99 @@
+package Verschlüsselung;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/*
+ * Klasse: DeflateCodec
+ * --------------------
+ * Kompression mit `java.util.zip.Deflater` (rohes Deflate, ohne zlib-Kopf).
+ *
+ * `Deflater` und `Inflater` belegen nativen Speicher und sind teuer anzulegen. Deshalb hat jeder
+ * Thread eine eigene Instanz, die vor jeder Verwendung mit `reset()` zurückgesetzt wird.
+ * Die Kompressionsstufe gehört nicht zum Dateiformat, Inflate braucht sie nicht.
+ */
+public class DeflateCodec implements CompressionCodec {
+
+    static final int ID = 1;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final ThreadLocal<Deflater> DEFLATER = ThreadLocal.withInitial(() -> new Deflater(Deflater.DEFAULT_COMPRESSION, true));
+    private static final ThreadLocal<Inflater> INFLATER = ThreadLocal.withInitial(() -> new Inflater(true));
+
+    // Ein- und Ausgabepuffer pro Thread
+    private static final ThreadLocal<byte[]> IN_BUFFER = ThreadLocal.withInitial(() -> new byte[BUFFER_SIZE]);
+    private static final ThreadLocal<byte[]> OUT_BUFFER = ThreadLocal.withInitial(() -> new byte[BUFFER_SIZE]);
+
+    private final int level;
+
+    public DeflateCodec(int level) {
+        if (level != Deflater.DEFAULT_COMPRESSION && (level < Deflater.NO_COMPRESSION || level > Deflater.BEST_COMPRESSION)) {
+            throw new IllegalArgumentException("Invalid compression level: " + level);
+        }
+        this.level = level;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    @Override
+    public int getId() {
+        return ID;
+    }
+
+    @Override
+    public void compress(InputStream in, OutputStream out) throws IOException {
+        Deflater deflater = DEFLATER.get();
+        byte[] input = IN_BUFFER.get();
+        byte[] output = OUT_BUFFER.get();
+
+        deflater.reset();
+        deflater.setLevel(level);
+
+        int n;
+        while ((n = in.read(input)) != -1) {
+            deflater.setInput(input, 0, n);
+            while (!deflater.needsInput()) {
+                out.write(output, 0, deflater.deflate(output));
+            }
+        }
+        deflater.finish();
+        while (!deflater.finished()) {
+            out.write(output, 0, deflater.deflate(output));
+        }
+    }
+
+    @Override
+    public void decompress(InputStream in, OutputStream out) throws IOException {
+        Inflater inflater = INFLATER.get();
+        byte[] input = IN_BUFFER.get();
+        byte[] output = OUT_BUFFER.get();
+
+        inflater.reset();
+        try {
+            while (!inflater.finished()) {
+                if (inflater.needsInput()) {
+                    int n = in.read(input);
+                    if (n == -1) {
+                        throw new EOFException("Unexpected end of compressed data!");
+                    }
+                    inflater.setInput(input, 0, n);
+                }
+                int n = inflater.inflate(output);
+                if (n == 0 && inflater.needsDictionary()) {
+                    throw new IOException("Compressed data requires a dictionary!");
+                }
+                out.write(output, 0, n);
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Invalid compressed data!", e);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package Verschlüsselung;
+
+/*
+ * Schnittstelle: EncryptionEngine
+ * -------------------------------
+ * Gemeinsamer Vertrag der Public-Key-Verfahren: Daten verschlüsselt in einer Datei speichern
+ * und wieder laden. Aufrufer arbeiten nur gegen diese Schnittstelle und können das Verfahren
+ * (RSA mit `Asymetrisch.EncryptedFile`, X25519 mit `X25519EncryptedFile`) pro Installation wählen.
+ *
+ * Fehler werden wie in den Implementierungen üblich gemeldet:
+ * IllegalArgumentException für ungültige Parameter, IllegalStateException für Fehler beim
+ * Ver-/Entschlüsseln oder beim Dateizugriff.
+ */
+public interface EncryptionEngine {
+
+    // Verschlüsselt die Daten und speichert sie in der Datei.
+    void saveEncrypted(String filename, byte[] data);
+
+    // Liest die Datei und liefert die entschlüsselten Daten.
+    byte[] loadEncrypted(String filename);
+}
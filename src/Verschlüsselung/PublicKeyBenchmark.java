@@ -0,0 +1,88 @@
+package Verschlüsselung;
+
+import Encoding_Decoding.Codec;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.util.Arrays;
+import java.util.Random;
+
+/*
+ * Vergleicht RSA-2048 (`Asymetrisch.EncryptedFile`) mit X25519 (`X25519EncryptedFile`).
+ * -------------------------------------------------------------------------------------
+ * Aufruf: java Verschlüsselung.PublicKeyBenchmark [Sekunden pro Messung] [Datengröße in Bytes]
+ *
+ * Gemessen werden Operationen pro Sekunde für Schlüsselerzeugung, `saveEncrypted` und
+ * `loadEncrypted` (beide über die Schnittstelle `EncryptionEngine`, also inklusive Dateizugriff)
+ * sowie die Dateigröße. Die Datengröße ist auf 245 Byte begrenzt, weil RSA ohne
+ * Envelope-Modus nicht mehr verschlüsseln kann. Jede Messung läuft zuerst einmal zum Aufwärmen.
+ */
+public class PublicKeyBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        double seconds = args.length > 0 ? Double.parseDouble(args[0]) : 2.0;
+        int size = args.length > 1 ? Integer.parseInt(args[1]) : 128;
+        if (size > 245) {
+            throw new IllegalArgumentException("RSA-2048 can encrypt at most 245 bytes!");
+        }
+
+        byte[] data = new byte[size];
+        new Random(42).nextBytes(data);
+
+        KeyPairGenerator rsaGenerator = KeyPairGenerator.getInstance("RSA");
+        rsaGenerator.initialize(2048);
+        KeyPair rsaKeys = rsaGenerator.generateKeyPair();
+        EncryptionEngine rsa = new Asymetrisch().new EncryptedFile(
+                Codec.toHex(rsaKeys.getPublic().getEncoded()), Codec.toHex(rsaKeys.getPrivate().getEncoded()));
+
+        KeyPair x25519Keys = X25519EncryptedFile.generateKeyPair();
+        EncryptionEngine x25519 = new X25519EncryptedFile(x25519Keys.getPublic(), x25519Keys.getPrivate());
+
+        Path file = Files.createTempFile("public-key-benchmark", ".enc");
+        try {
+            System.out.printf("Datengröße: %d Bytes%n", size);
+            System.out.println("Verfahren     Keygen ops/s   encrypt ops/s   decrypt ops/s   Dateigröße");
+            report("RSA-2048", seconds, rsaGenerator::generateKeyPair, rsa, file, data);
+            report("X25519", seconds, X25519EncryptedFile::generateKeyPair, x25519, file, data);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static void report(String name, double seconds, Operation keygen, EncryptionEngine engine,
+                               Path file, byte[] data) throws Exception {
+        String filename = file.toString();
+        double keygenOps = measure(seconds, keygen);
+        double encryptOps = measure(seconds, () -> engine.saveEncrypted(filename, data));
+        double decryptOps = measure(seconds, () -> engine.loadEncrypted(filename));
+        if (!Arrays.equals(data, engine.loadEncrypted(filename))) {
+            throw new IllegalStateException(name + ": wrong result!");
+        }
+        System.out.printf("%-10s %15.0f %15.0f %15.0f %12d%n",
+                name, keygenOps, encryptOps, decryptOps, Files.size(file));
+    }
+
+    // Führt die Operation `seconds` lang aus (nach einer gleich langen Aufwärmphase) und liefert ops/s.
+    private static double measure(double seconds, Operation operation) throws Exception {
+        double result = 0;
+        for (int round = 0; round < 2; round++) {
+            long count = 0;
+            long start = System.nanoTime();
+            long end = start + (long) (seconds * 1e9);
+            long now;
+            do {
+                operation.run();
+                count++;
+                now = System.nanoTime();
+            } while (now < end);
+            result = count / ((now - start) / 1e9);
+        }
+        return result;
+    }
+
+    private interface Operation {
+        void run() throws Exception;
+    }
+}
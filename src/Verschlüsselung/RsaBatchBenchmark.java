@@ -0,0 +1,70 @@
+package Verschlüsselung;
+
+import javax.crypto.Cipher;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+
+/*
+ * Misst RSA-Entschlüsselungen pro Sekunde in Abhängigkeit von der Thread-Anzahl.
+ * -----------------------------------------------------------------------------
+ * Aufruf: java Verschlüsselung.RsaBatchBenchmark [Anzahl Chiffretexte] [Schlüssellänge]
+ *
+ * - "Aufrufer": alle Chiffretexte nacheinander im aufrufenden Thread (wie `loadEncrypted`).
+ * - Sonst:      `RsaBatchDecryptor` mit 1, 2, 4, ... Threads bis zur doppelten Kernanzahl.
+ * Alle Ergebnisse werden mit dem Klartext verglichen.
+ */
+public class RsaBatchBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 4000;
+        int keySize = args.length > 1 ? Integer.parseInt(args[1]) : 2048;
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(keySize);
+        KeyPair keyPair = generator.generateKeyPair();
+
+        // Testdaten: 32-Byte-Nachrichten (z. B. AES-Schlüssel), mit dem öffentlichen Schlüssel verschlüsselt
+        Cipher encrypt = Cipher.getInstance("RSA");
+        encrypt.init(Cipher.ENCRYPT_MODE, keyPair.getPublic());
+        Random random = new Random(42);
+        List<byte[]> plain = new ArrayList<>();
+        List<byte[]> cipherTexts = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            byte[] message = new byte[32];
+            random.nextBytes(message);
+            plain.add(message);
+            cipherTexts.add(encrypt.doFinal(message));
+        }
+        System.out.printf("%d Chiffretexte, RSA-%d, %d Kerne%n", count, keySize, cores);
+
+        Cipher decrypt = Cipher.getInstance("RSA");
+        decrypt.init(Cipher.DECRYPT_MODE, keyPair.getPrivate());
+        long start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            if (!Arrays.equals(plain.get(i), decrypt.doFinal(cipherTexts.get(i)))) {
+                throw new IllegalStateException("Wrong result at " + i);
+            }
+        }
+        System.out.printf("Aufrufer    %10.0f ops/s%n", count / ((System.nanoTime() - start) / 1e9));
+
+        for (int threads = 1; threads <= 2 * cores; threads *= 2) {
+            try (RsaBatchDecryptor decryptor =
+                         new RsaBatchDecryptor(keyPair.getPrivate(), "RSA", threads, 4 * threads)) {
+                start = System.nanoTime();
+                List<CompletableFuture<byte[]>> results = decryptor.submitAll(cipherTexts);
+                for (int i = 0; i < count; i++) {
+                    if (!Arrays.equals(plain.get(i), results.get(i).join())) {
+                        throw new IllegalStateException("Wrong result at " + i);
+                    }
+                }
+                System.out.printf("%2d Threads  %10.0f ops/s%n", threads, count / ((System.nanoTime() - start) / 1e9));
+            }
+        }
+    }
+}
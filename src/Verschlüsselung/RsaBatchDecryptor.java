@@ -0,0 +1,166 @@
+package Verschlüsselung;
+
+import javax.crypto.Cipher;
+import javax.crypto.NoSuchPaddingException;
+import java.io.Closeable;
+import java.security.GeneralSecurityException;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.security.PrivateKey;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * Klasse: RsaBatchDecryptor
+ * -------------------------
+ * Entschlüsselt viele RSA-Chiffretexte parallel auf einem festen Pool von Worker-Threads.
+ *
+ * - RSA-Operationen mit dem privaten Schlüssel sind reine Rechenarbeit, deshalb hat der Pool
+ *   standardmäßig so viele Threads wie CPU-Kerne. Mehr Threads bringen keinen Durchsatz.
+ * - Jeder Worker besitzt einen eigenen, einmal mit dem privaten Schlüssel initialisierten `Cipher`.
+ *   Nach `doFinal()` ist ein RSA-Cipher wieder im initialisierten Zustand, es gibt also kein
+ *   erneutes `init()` pro Chiffretext.
+ * - `submit()` liefert sofort ein Future. Sind bereits `threads + queueCapacity` Aufträge offen,
+ *   blockiert `submit()`, bis ein Platz frei wird (Backpressure), statt die Warteschlange
+ *   unbegrenzt wachsen zu lassen.
+ * - Metriken: erledigte und fehlgeschlagene Aufträge, offene Aufträge, Operationen pro Sekunde.
+ */
+public class RsaBatchDecryptor implements Closeable {
+
+    private final ExecutorService workers;
+    private final Semaphore slots;
+    private final int capacity;
+    private final ThreadLocal<Cipher> cipher;
+
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final long startNanos = System.nanoTime();
+
+    public RsaBatchDecryptor(PrivateKey privateKey) {
+        this(privateKey, "RSA", Runtime.getRuntime().availableProcessors(), 1024);
+    }
+
+    /*
+     * Konstruktor
+     *
+     * @param privateKey     privater RSA-Schlüssel
+     * @param transformation Cipher-Transformation, z. B. "RSA" (wie `Asymetrisch.EncryptedFile`)
+     * @param threads        Anzahl der Worker-Threads
+     * @param queueCapacity  wie viele Aufträge zusätzlich zu den laufenden warten dürfen
+     */
+    public RsaBatchDecryptor(PrivateKey privateKey, String transformation, int threads, int queueCapacity) {
+        if (privateKey == null || transformation == null) {
+            throw new IllegalArgumentException("Private key and transformation must not be null!");
+        }
+        if (threads < 1 || queueCapacity < 0) {
+            throw new IllegalArgumentException("Invalid pool size! Mindestens ein Thread, Warteschlange nicht negativ.");
+        }
+
+        // Prüft Transformation und Schlüssel sofort, nicht erst im ersten Worker
+        newCipher(transformation, privateKey);
+        this.cipher = ThreadLocal.withInitial(() -> newCipher(transformation, privateKey));
+        this.capacity = threads + queueCapacity;
+        this.slots = new Semaphore(capacity);
+
+        AtomicInteger index = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "rsa-decrypt-" + index.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /*
+     * Übergibt einen Chiffretext zur Entschlüsselung.
+     * Blockiert, solange der Dienst ausgelastet ist.
+     */
+    public CompletableFuture<byte[]> submit(byte[] cipherText) throws InterruptedException {
+        if (cipherText == null) {
+            throw new IllegalArgumentException("Cipher text must not be null!");
+        }
+
+        slots.acquire();
+        CompletableFuture<byte[]> result = new CompletableFuture<>();
+        try {
+            workers.execute(() -> {
+                try {
+                    byte[] plain = cipher.get().doFinal(cipherText);
+                    completed.increment();
+                    result.complete(plain);
+                } catch (GeneralSecurityException | RuntimeException e) {
+                    failed.increment();
+                    result.completeExceptionally(new IllegalStateException("Unable to decrypt data!", e));
+                } finally {
+                    slots.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            slots.release();
+            throw e;
+        }
+        return result;
+    }
+
+    // Übergibt alle Chiffretexte; die Futures haben dieselbe Reihenfolge wie die Eingabe.
+    public List<CompletableFuture<byte[]>> submitAll(List<byte[]> cipherTexts) throws InterruptedException {
+        List<CompletableFuture<byte[]>> results = new ArrayList<>(cipherTexts.size());
+        for (byte[] cipherText : cipherTexts) {
+            results.add(submit(cipherText));
+        }
+        return results;
+    }
+
+    /*
+     * Metriken
+     * --------
+     */
+
+    public long getCompletedCount() {
+        return completed.sum();
+    }
+
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    // Aufträge, die übergeben, aber noch nicht fertig sind
+    public int getPendingCount() {
+        return capacity - slots.availablePermits();
+    }
+
+    // Erfolgreiche Entschlüsselungen pro Sekunde seit dem Start
+    public double getOpsPerSecond() {
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        return seconds > 0 ? completed.sum() / seconds : 0.0;
+    }
+
+    /*
+     * Beendet die Worker, nachdem alle übergebenen Aufträge erledigt sind.
+     */
+    @Override
+    public void close() {
+        workers.shutdown();
+        try {
+            workers.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Cipher newCipher(String transformation, PrivateKey privateKey) {
+        try {
+            Cipher c = Cipher.getInstance(transformation);
+            c.init(Cipher.DECRYPT_MODE, privateKey);
+            return c;
+        } catch (NoSuchAlgorithmException | NoSuchPaddingException | InvalidKeyException e) {
+            throw new IllegalStateException("Can't initialize RSA cipher!", e);
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package Verschlüsselung;
+
+import Encoding_Decoding.Codec;
+
+import java.security.KeyFactory;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.InvalidKeySpecException;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * Klasse: RsaKeyRegistry
+ * ----------------------
+ * Cache für geparste RSA-Schlüssel.
+ *
+ * - `KeyFactory.generatePrivate()` ist teuer (ASN.1-Parsing, bei privaten Schlüsseln zusätzlich
+ *   die CRT-Parameter). Wird pro Anfrage ein `Asymetrisch.EncryptedFile` erzeugt, fällt das jedes
+ *   Mal an, obwohl es immer dieselben Schlüssel sind.
+ * - Die Registry parst jeden Schlüssel nur einmal und speichert das `PublicKey`- bzw.
+ *   `PrivateKey`-Objekt unter seinem Fingerabdruck (SHA-256 der X.509- bzw. PKCS#8-Kodierung, hex).
+ * - Mit `preload` können die Schlüssel schon beim Start geparst werden.
+ * - Der Cache ist begrenzt (Standard: DEFAULT_MAX_SIZE öffentliche und ebenso viele private
+ *   Schlüssel). Wird die Grenze überschritten, wird der am längsten nicht benutzte Schlüssel
+ *   verdrängt (LRU). Mit `evict` kann ein einzelner Schlüssel sofort entfernt werden, z. B. wenn
+ *   er widerrufen wurde - sonst bliebe das `PrivateKey`-Objekt bis zur Verdrängung im Speicher.
+ * - Treffer sind sperrfrei: Jeder Eintrag merkt sich nur den Zeitpunkt des letzten Zugriffs,
+ *   der älteste Eintrag wird erst beim Einfügen über die Grenze gesucht.
+ * - Metriken: Anzahl Schlüssel im Cache, Anzahl Parse-Vorgänge, gesamte Parse-Zeit, Treffer,
+ *   Verdrängungen.
+ */
+public final class RsaKeyRegistry {
+
+    static final int DEFAULT_MAX_SIZE = 1024;
+
+    private static final RsaKeyRegistry DEFAULT = new RsaKeyRegistry();
+
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available!", e);
+        }
+    });
+
+    private final Map<String, Entry<PublicKey>> publicKeys = new ConcurrentHashMap<>();
+    private final Map<String, Entry<PrivateKey>> privateKeys = new ConcurrentHashMap<>();
+    private final int maxSize;
+
+    private final LongAdder parseCount = new LongAdder();
+    private final LongAdder parseNanos = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public RsaKeyRegistry() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    /*
+     * @param maxSize maximale Anzahl öffentlicher bzw. privater Schlüssel im Cache
+     */
+    public RsaKeyRegistry(int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Maximum size must be at least 1!");
+        }
+        this.maxSize = maxSize;
+    }
+
+    // Gemeinsame Registry (wird von `Asymetrisch.EncryptedFile` verwendet)
+    public static RsaKeyRegistry getDefault() {
+        return DEFAULT;
+    }
+
+    /*
+     * Öffentlicher Schlüssel aus hexadezimal kodiertem X.509-Format.
+     * Beim ersten Aufruf wird geparst, danach kommt das Objekt aus dem Cache.
+     */
+    public PublicKey publicKey(String hex) {
+        if (hex == null) {
+            throw new IllegalArgumentException("Public key must not be null!");
+        }
+        return publicKey(Codec.fromHex(hex));
+    }
+
+    public PublicKey publicKey(byte[] x509) {
+        if (x509 == null) {
+            throw new IllegalArgumentException("Public key must not be null!");
+        }
+        return lookup(publicKeys, fingerprint(x509), () -> factory().generatePublic(new X509EncodedKeySpec(x509)));
+    }
+
+    /*
+     * Privater Schlüssel aus hexadezimal kodiertem PKCS#8-Format.
+     * Beim ersten Aufruf wird geparst, danach kommt das Objekt aus dem Cache.
+     */
+    public PrivateKey privateKey(String hex) {
+        if (hex == null) {
+            throw new IllegalArgumentException("Private key must not be null!");
+        }
+        return privateKey(Codec.fromHex(hex));
+    }
+
+    public PrivateKey privateKey(byte[] pkcs8) {
+        if (pkcs8 == null) {
+            throw new IllegalArgumentException("Private key must not be null!");
+        }
+        return lookup(privateKeys, fingerprint(pkcs8), () -> factory().generatePrivate(new PKCS8EncodedKeySpec(pkcs8)));
+    }
+
+    /*
+     * Parst ein Schlüsselpaar beim Start, damit die erste Anfrage nicht warten muss.
+     * Einer der beiden Schlüssel darf null sein.
+     *
+     * @return die Fingerabdrücke {öffentlich, privat} (null für fehlende Schlüssel)
+     */
+    public String[] preload(String publicKeyHex, String privateKeyHex) {
+        String[] fingerprints = new String[2];
+        if (publicKeyHex != null) {
+            byte[] encoded = Codec.fromHex(publicKeyHex);
+            publicKey(encoded);
+            fingerprints[0] = fingerprint(encoded);
+        }
+        if (privateKeyHex != null) {
+            byte[] encoded = Codec.fromHex(privateKeyHex);
+            privateKey(encoded);
+            fingerprints[1] = fingerprint(encoded);
+        }
+        return fingerprints;
+    }
+
+    // Bereits geladener Schlüssel zu einem Fingerabdruck, sonst null
+    public PublicKey getPublicKey(String fingerprint) {
+        return touch(publicKeys.get(fingerprint));
+    }
+
+    public PrivateKey getPrivateKey(String fingerprint) {
+        return touch(privateKeys.get(fingerprint));
+    }
+
+    /*
+     * Entfernt den Schlüssel mit diesem Fingerabdruck (öffentlich und/oder privat).
+     *
+     * @return true, wenn ein Schlüssel entfernt wurde
+     */
+    public boolean evict(String fingerprint) {
+        if (fingerprint == null) {
+            throw new IllegalArgumentException("Fingerprint must not be null!");
+        }
+        boolean removedPublic = publicKeys.remove(fingerprint) != null;
+        boolean removedPrivate = privateKeys.remove(fingerprint) != null;
+        return removedPublic || removedPrivate;
+    }
+
+    // Entfernt alle Schlüssel (z. B. nach einem Schlüsselwechsel)
+    public void clear() {
+        publicKeys.clear();
+        privateKeys.clear();
+    }
+
+    // SHA-256 der Schlüsselkodierung als hexadezimaler String
+    public static String fingerprint(byte[] encoded) {
+        return Codec.toHex(SHA256.get().digest(encoded));
+    }
+
+    /*
+     * Metriken
+     * --------
+     */
+
+    public int size() {
+        return publicKeys.size() + privateKeys.size();
+    }
+
+    public long getParseCount() {
+        return parseCount.sum();
+    }
+
+    public long getParseNanos() {
+        return parseNanos.sum();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    // Wegen der Größenbeschränkung verdrängte Schlüssel
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    @Override
+    public String toString() {
+        long count = getParseCount();
+        return "RsaKeyRegistry[size=" + size() + ", parses=" + count + ", hits=" + getHitCount() + ", evictions=" + getEvictionCount()
+                + ", avgParse=" + (count == 0 ? 0 : getParseNanos() / count / 1000) + "µs]";
+    }
+
+    /*
+     * Hilfsmethoden
+     * -------------
+     */
+
+    private <K> K lookup(Map<String, Entry<K>> cache, String fingerprint, Parser<K> parser) {
+        Entry<K> entry = cache.get(fingerprint);
+        if (entry != null) {
+            hits.increment();
+            return touch(entry);
+        }
+        entry = cache.computeIfAbsent(fingerprint, f -> {
+            long start = System.nanoTime();
+            try {
+                return new Entry<>(parser.parse());
+            } catch (InvalidKeySpecException e) {
+                throw new IllegalArgumentException("Invalid RSA key material!", e);
+            } finally {
+                parseCount.increment();
+                parseNanos.add(System.nanoTime() - start);
+            }
+        });
+        while (cache.size() > maxSize) {
+            evictEldest(cache, entry);
+        }
+        return entry.key;
+    }
+
+    private static <K> K touch(Entry<K> entry) {
+        if (entry == null) {
+            return null;
+        }
+        entry.lastAccess = System.nanoTime();
+        return entry.key;
+    }
+
+    // Entfernt den am längsten nicht benutzten Eintrag (außer `keep`, dem gerade eingefügten)
+    private <K> void evictEldest(Map<String, Entry<K>> cache, Entry<K> keep) {
+        String eldest = null;
+        Entry<K> eldestEntry = null;
+        for (Map.Entry<String, Entry<K>> e : cache.entrySet()) {
+            Entry<K> candidate = e.getValue();
+            if (candidate != keep && (eldestEntry == null || candidate.lastAccess - eldestEntry.lastAccess < 0)) {
+                eldest = e.getKey();
+                eldestEntry = candidate;
+            }
+        }
+        if (eldest == null) {
+            return;
+        }
+        if (cache.remove(eldest, eldestEntry)) {
+            evictions.increment();
+        }
+    }
+
+    private static KeyFactory factory() {
+        try {
+            return KeyFactory.getInstance("RSA");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("RSA is not available!", e);
+        }
+    }
+
+    private static final class Entry<K> {
+        final K key;
+        volatile long lastAccess = System.nanoTime();
+
+        Entry(K key) {
+            this.key = key;
+        }
+    }
+
+    private interface Parser<K> {
+        K parse() throws InvalidKeySpecException;
+    }
+}
@@ -0,0 +1,567 @@
+package Verschlüsselung;
+
+import Encoding_Decoding.Codec;
+
+import javax.crypto.AEADBadTagException;
+import javax.crypto.Cipher;
+import javax.crypto.Mac;
+import javax.crypto.NoSuchPaddingException;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.GeneralSecurityException;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.LongStream;
+
+/*
+ * Klasse: SegmentedGcmFile
+ * ------------------------
+ * Authentifizierte Dateiverschlüsselung mit AES-GCM in Segmenten.
+ *
+ * Der CTR-Modus von `Symmetrisch` erkennt keine Manipulationen. Ein einziges GCM über die ganze
+ * Datei würde das zwar tun, der Tag kann aber erst am Dateiende geprüft werden - vorher darf
+ * kein Klartext herausgegeben werden, die Datei müsste also komplett gepuffert werden.
+ * Deshalb wird die Datei in Segmente geteilt, jedes Segment hat eigene Nonce und eigenen Tag:
+ *
+ *     Kopf:    "SGCM" | Version (1 Byte) | Segmentgröße (4 Byte) | Salt (16 Byte, zufällig)
+ *              | Nonce-Präfix (7 Byte, zufällig)
+ *     Segment: Chiffretext (Segmentgröße Bytes, das letzte Segment kürzer) | GCM-Tag (16 Byte)
+ *
+ *     Dateischlüssel = HKDF-SHA256(Schlüssel, Salt, "SGCM file key" || Kopf)
+ *     Nonce_i        = Nonce-Präfix || i (4 Byte) || Ende-Flag (1 Byte, 1 nur beim letzten Segment)
+ *     AAD            = Kontext || Kopf   (Kontext leer, außer im Envelope-Modus von `Asymetrisch`)
+ *
+ * - Jedes Segment wird für sich geprüft. Leser können Segment für Segment entschlüsseln und
+ *   brechen beim ersten manipulierten Segment ab; herausgegeben werden nur geprüfte Daten.
+ * - Der Index in der Nonce verhindert das Vertauschen von Segmenten, das Ende-Flag das
+ *   unbemerkte Abschneiden der Datei an einer Segmentgrenze.
+ * - Der Kopf ist über die AAD an jedes Segment gebunden (Segmentgröße, Salt, Präfix).
+ * - Jede Datei wird mit einem eigenen, aus dem Salt abgeleiteten Schlüssel verschlüsselt (wie bei
+ *   Tinks Streaming-AEAD). Mit nur 56 Bit Zufall in der Nonce würden sich Präfixe bei sehr vielen
+ *   Dateien unter demselben Schlüssel irgendwann wiederholen - eine wiederholte GCM-Nonce verrät
+ *   das XOR der Klartexte und den Authentifizierungsschlüssel. Mit 128 Bit Salt pro Datei ist
+ *   das praktisch ausgeschlossen.
+ * - Da jedes Segment unabhängig ist, können die Segmente auch parallel verarbeitet werden.
+ * - Eine leere Datei besteht aus einem leeren letzten Segment (nur der Tag).
+ */
+public class SegmentedGcmFile {
+
+    static final int DEFAULT_SEGMENT_SIZE = 64 * 1024;
+    static final int MAX_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+    private static final byte[] MAGIC = {'S', 'G', 'C', 'M'};
+    private static final byte VERSION = 2;
+    static final int HEADER_SIZE = 32;
+    private static final int SALT_OFFSET = 9;
+    private static final int SALT_SIZE = 16;
+    private static final int PREFIX_OFFSET = SALT_OFFSET + SALT_SIZE;
+    private static final int PREFIX_SIZE = 7;
+    static final int TAG_SIZE = 16;
+    private static final byte[] HKDF_INFO = "SGCM file key".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NO_CONTEXT = new byte[0];
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    // Ein Cipher pro Thread, er wird für jedes Segment neu initialisiert
+    private static final ThreadLocal<Cipher> CIPHER = ThreadLocal.withInitial(() -> {
+        try {
+            return Cipher.getInstance("AES/GCM/NoPadding");
+        } catch (NoSuchAlgorithmException | NoSuchPaddingException e) {
+            throw new IllegalStateException("Can't initialize cipher!", e);
+        }
+    });
+
+    private static final ThreadLocal<Mac> HMAC = ThreadLocal.withInitial(() -> {
+        try {
+            return Mac.getInstance("HmacSHA256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Can't initialize HMAC!", e);
+        }
+    });
+
+    private final byte[] key;
+    private final int segmentSize;
+
+    public SegmentedGcmFile(String keyString) {
+        this(keyString, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * Konstruktor
+     *
+     * @param keyString   Hexadezimaler String für den AES-Schlüssel (32 oder 64 Zeichen, 128 oder 256 Bit)
+     * @param segmentSize Klartext-Bytes pro Segment (gilt für neu verschlüsselte Dateien,
+     *                    beim Lesen wird die Segmentgröße aus dem Kopf übernommen)
+     */
+    public SegmentedGcmFile(String keyString, int segmentSize) {
+        this(parseKey(keyString), segmentSize);
+    }
+
+    // Schlüssel als Bytes (16 oder 32), z. B. ein zufälliger Dateischlüssel im Envelope-Modus
+    SegmentedGcmFile(byte[] key, int segmentSize) {
+        if (key.length != 16 && key.length != 32)
+            throw new IllegalArgumentException("Invalid key! Der Schlüssel muss 16 oder 32 Bytes lang sein.");
+
+        if (segmentSize < 1 || segmentSize > MAX_SEGMENT_SIZE)
+            throw new IllegalArgumentException("Invalid segment size! Erlaubt sind 1 bis " + MAX_SEGMENT_SIZE + " Bytes.");
+
+        this.key = key.clone();
+        this.segmentSize = segmentSize;
+        CIPHER.get();
+        HMAC.get();
+    }
+
+    private static byte[] parseKey(String keyString) {
+        if (keyString == null || (keyString.length() != 32 && keyString.length() != 64))
+            throw new IllegalArgumentException("Invalid key string! Der Schlüssel muss 32 oder 64 Zeichen lang sein.");
+        return Codec.fromHex(keyString);
+    }
+
+    public int getSegmentSize() {
+        return segmentSize;
+    }
+
+    /**
+     * Verschlüsselt einen Eingabestream segmentweise in eine Datei.
+     * <p>
+     * Es wird immer ein Segment im Voraus gelesen: Erst wenn danach keine Daten mehr kommen,
+     * steht fest, dass das aktuelle Segment das letzte ist und das Ende-Flag bekommt.
+     *
+     * @param target Die Zieldatei.
+     * @param in     Die zu verschlüsselnden Daten (wird nicht geschlossen).
+     */
+    public void saveEncrypted(Path target, InputStream in) {
+        if (target == null)
+            throw new IllegalArgumentException("Invalid filename. Der Dateiname darf nicht null sein!");
+
+        if (in == null)
+            throw new IllegalArgumentException("Invalid data! Der Eingabestream darf nicht null sein.");
+
+        try (FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            write(out, in, NO_CONTEXT);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to save data to file!", e);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to encrypt data!", e);
+        }
+    }
+
+    /*
+     * Schreibt Kopf und Segmente ab der aktuellen Position des Kanals.
+     *
+     * @param context zusätzliche Daten, die wie der Kopf als AAD an jedes Segment gebunden werden
+     *                (z. B. der Kopf des Envelope-Formats); beim Lesen muss derselbe Kontext angegeben werden
+     */
+    void write(FileChannel out, InputStream in, byte[] context) throws IOException, GeneralSecurityException {
+        FileKey file = newFile(context);
+        byte[] current = new byte[segmentSize];
+        byte[] next = new byte[segmentSize];
+        byte[] sealed = new byte[segmentSize + TAG_SIZE];
+
+        Symmetrisch.writeFully(out, ByteBuffer.wrap(file.header));
+
+        int currentLength = in.readNBytes(current, 0, segmentSize);
+        for (long index = 0; ; index++) {
+            int nextLength = currentLength == segmentSize ? in.readNBytes(next, 0, segmentSize) : 0;
+            boolean last = nextLength == 0;
+
+            int n = seal(file, index, last, current, currentLength, sealed);
+            Symmetrisch.writeFully(out, ByteBuffer.wrap(sealed, 0, n));
+            if (last)
+                break;
+
+            byte[] swap = current;
+            current = next;
+            next = swap;
+            currentLength = nextLength;
+        }
+    }
+
+    /**
+     * Öffnet eine verschlüsselte Datei als Stream, der segmentweise entschlüsselt und prüft.
+     * <p>
+     * Ein Segment wird erst herausgegeben, nachdem sein Tag geprüft wurde. Beim ersten
+     * manipulierten oder fehlenden Segment wirft `read()` eine IOException; alle bis dahin
+     * gelesenen Daten sind authentisch.
+     *
+     * @param source Die verschlüsselte Datei.
+     * @return Ein InputStream mit den entschlüsselten Daten (muss geschlossen werden).
+     */
+    public InputStream openDecrypted(Path source) {
+        if (source == null)
+            throw new IllegalArgumentException("Invalid filename! Der Dateiname darf nicht null sein.");
+
+        FileChannel in = null;
+        try {
+            in = FileChannel.open(source, StandardOpenOption.READ);
+            return open(in, NO_CONTEXT);
+        } catch (IOException e) {
+            closeQuietly(in);
+            throw new IllegalStateException("Unable to load data from file!", e);
+        }
+    }
+
+    /*
+     * Liest Kopf und Segmente ab der aktuellen Position des Kanals bis zum Dateiende.
+     * Der Stream übernimmt den Kanal und schließt ihn.
+     *
+     * @param context derselbe Kontext wie beim Schreiben
+     */
+    InputStream open(FileChannel in, byte[] context) throws IOException {
+        return new DecryptingStream(in, readHeader(in, context));
+    }
+
+    /**
+     * Verschlüsselt eine Datei parallel auf dem gemeinsamen Fork/Join-Pool.
+     * Jeder Worker liest sein Segment mit positionsbasiertem read() und schreibt das Ergebnis
+     * an die feste Position des Segments in der Zieldatei.
+     *
+     * @param source Die Klartext-Datei.
+     * @param target Die Zieldatei.
+     */
+    public void encryptParallel(Path source, Path target) {
+        if (source == null || target == null)
+            throw new IllegalArgumentException("Invalid filename! Der Dateiname darf nicht null sein.");
+
+        FileKey file = newFile(NO_CONTEXT);
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE,
+                     StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            long size = in.size();
+            long segments = Math.max(1, (size + segmentSize - 1) / segmentSize);
+            checkSegmentCount(segments);
+            writeFully(out, ByteBuffer.wrap(file.header), 0);
+
+            runParallel(segments, index -> {
+                Buffers buffers = Buffers.get(segmentSize);
+                long start = index * segmentSize;
+                int length = (int) Math.min(segmentSize, size - start);
+                readFully(in, ByteBuffer.wrap(buffers.plain, 0, length), start);
+
+                int n = seal(file, index, index == segments - 1, buffers.plain, length, buffers.sealed);
+                writeFully(out, ByteBuffer.wrap(buffers.sealed, 0, n),
+                        HEADER_SIZE + index * (segmentSize + (long) TAG_SIZE));
+            });
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to process file!", e);
+        }
+    }
+
+    /**
+     * Entschlüsselt und prüft eine Datei parallel auf dem gemeinsamen Fork/Join-Pool.
+     * Schlägt die Prüfung eines Segments fehl, wird die (unvollständige) Zieldatei gelöscht.
+     *
+     * @param source Die verschlüsselte Datei.
+     * @param target Die Zieldatei für die entschlüsselten Daten.
+     */
+    public void decryptParallel(Path source, Path target) {
+        if (source == null || target == null)
+            throw new IllegalArgumentException("Invalid filename! Der Dateiname darf nicht null sein.");
+
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE,
+                     StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            FileKey file = readHeader(in, NO_CONTEXT);
+            int size = headerSegmentSize(file.header);
+            long body = in.size() - HEADER_SIZE;
+            long segments = segmentCount(body, size);
+
+            runParallel(segments, index -> {
+                Buffers buffers = Buffers.get(size);
+                long start = index * (size + (long) TAG_SIZE);
+                int length = (int) Math.min(size + TAG_SIZE, body - start);
+                readFully(in, ByteBuffer.wrap(buffers.sealed, 0, length), HEADER_SIZE + start);
+
+                int n = open(file, index, index == segments - 1, buffers.sealed, length, buffers.plain);
+                writeFully(out, ByteBuffer.wrap(buffers.plain, 0, n), index * size);
+            });
+        } catch (IOException | RuntimeException e) {
+            try {
+                Files.deleteIfExists(target);
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            if (e instanceof RuntimeException)
+                throw (RuntimeException) e;
+            throw new IllegalStateException("Unable to decrypt file!", e);
+        }
+    }
+
+    /*
+     * Hilfsmethoden
+     * -------------
+     */
+
+    // Neuer Kopf mit zufälligem Salt und Präfix, dazu der abgeleitete Dateischlüssel
+    private FileKey newFile(byte[] context) {
+        byte[] header = new byte[HEADER_SIZE];
+        byte[] random = new byte[SALT_SIZE + PREFIX_SIZE];
+        RANDOM.nextBytes(random);
+        ByteBuffer.wrap(header).put(MAGIC).put(VERSION).putInt(segmentSize).put(random);
+        return new FileKey(header, context, deriveKey(header));
+    }
+
+    // Liest den Kopf ab der aktuellen Position; danach steht der Kanal auf dem ersten Segment.
+    private FileKey readHeader(FileChannel in, byte[] context) throws IOException {
+        byte[] header = new byte[HEADER_SIZE];
+        long start = in.position();
+        readFully(in, ByteBuffer.wrap(header), start);
+        in.position(start + HEADER_SIZE);
+        if (!Arrays.equals(Arrays.copyOf(header, MAGIC.length), MAGIC) || header[MAGIC.length] != VERSION)
+            throw new IOException("Not a segmented GCM file (unknown header)!");
+        int size = headerSegmentSize(header);
+        if (size < 1 || size > MAX_SEGMENT_SIZE)
+            throw new IOException("Invalid segment size in header: " + size);
+        return new FileKey(header, context, deriveKey(header));
+    }
+
+    /*
+     * HKDF-SHA256 (RFC 5869), Ausgabe so lang wie der Schlüssel (16 oder 32 Byte):
+     *     PRK = HMAC(Salt, Schlüssel)                         (Extract)
+     *     OKM = HMAC(PRK, "SGCM file key" || Kopf || 0x01)    (Expand, ein Block reicht)
+     */
+    private SecretKeySpec deriveKey(byte[] header) {
+        try {
+            Mac mac = HMAC.get();
+            mac.init(new SecretKeySpec(header, SALT_OFFSET, SALT_SIZE, "HmacSHA256"));
+            byte[] prk = mac.doFinal(key);
+
+            mac.init(new SecretKeySpec(prk, "HmacSHA256"));
+            mac.update(HKDF_INFO);
+            mac.update(header);
+            mac.update((byte) 1);
+            return new SecretKeySpec(mac.doFinal(), 0, key.length, "AES");
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to derive file key!", e);
+        }
+    }
+
+    private static int headerSegmentSize(byte[] header) {
+        return ByteBuffer.wrap(header).getInt(MAGIC.length + 1);
+    }
+
+    /*
+     * Anzahl der Segmente aus der Größe der Daten hinter dem Kopf. Jedes Segment außer dem letzten
+     * ist genau (Segmentgröße + 16) Bytes groß, das letzte 16 bis (Segmentgröße + 16) Bytes.
+     */
+    private static long segmentCount(long body, int size) throws IOException {
+        long sealedSize = size + (long) TAG_SIZE;
+        long segments = (body + sealedSize - 1) / sealedSize;
+        if (body < TAG_SIZE || body - (segments - 1) * sealedSize < TAG_SIZE)
+            throw new IOException("File is truncated!");
+        checkSegmentCount(segments);
+        return segments;
+    }
+
+    private static void checkSegmentCount(long segments) {
+        if (segments > 0xFFFFFFFFL)
+            throw new IllegalArgumentException("File too large for segment size!");
+    }
+
+    private static GCMParameterSpec nonce(byte[] header, long index, boolean last) {
+        byte[] nonce = new byte[12];
+        System.arraycopy(header, PREFIX_OFFSET, nonce, 0, PREFIX_SIZE);
+        ByteBuffer.wrap(nonce).putInt(PREFIX_SIZE, (int) index).put(11, last ? (byte) 1 : 0);
+        return new GCMParameterSpec(TAG_SIZE * 8, nonce);
+    }
+
+    private static int seal(FileKey file, long index, boolean last, byte[] plain, int length, byte[] sealed)
+            throws GeneralSecurityException {
+        Cipher cipher = CIPHER.get();
+        cipher.init(Cipher.ENCRYPT_MODE, file.key, nonce(file.header, index, last));
+        cipher.updateAAD(file.context);
+        cipher.updateAAD(file.header);
+        return cipher.doFinal(plain, 0, length, sealed, 0);
+    }
+
+    // Entschlüsselt und prüft ein Segment; ein falscher Tag wird als IOException gemeldet.
+    private static int open(FileKey file, long index, boolean last, byte[] sealed, int length, byte[] plain)
+            throws IOException {
+        try {
+            Cipher cipher = CIPHER.get();
+            cipher.init(Cipher.DECRYPT_MODE, file.key, nonce(file.header, index, last));
+            cipher.updateAAD(file.context);
+            cipher.updateAAD(file.header);
+            return cipher.doFinal(sealed, 0, length, plain, 0);
+        } catch (AEADBadTagException e) {
+            throw new IOException("Segment " + index + " failed authentication!", e);
+        } catch (GeneralSecurityException e) {
+            throw new IOException("Unable to decrypt segment " + index + "!", e);
+        }
+    }
+
+    private static void runParallel(long segments, SegmentTask task) throws IOException {
+        try {
+            ForkJoinPool.commonPool().submit(() -> LongStream.range(0, segments).parallel().forEach(index -> {
+                try {
+                    task.run(index);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                } catch (GeneralSecurityException e) {
+                    throw new IllegalStateException("Unable to process segment " + index + "!", e);
+                }
+            })).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Parallel processing was interrupted!", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UncheckedIOException)
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            throw new IllegalStateException("Unable to process file!", e.getCause());
+        }
+    }
+
+    private static void readFully(FileChannel in, ByteBuffer buffer, long position) throws IOException {
+        long start = position - buffer.position();
+        while (buffer.hasRemaining()) {
+            if (in.read(buffer, start + buffer.position()) < 0)
+                throw new EOFException("Unexpected end of file!");
+        }
+    }
+
+    private static void writeFully(FileChannel out, ByteBuffer buffer, long position) throws IOException {
+        long start = position - buffer.position();
+        while (buffer.hasRemaining()) {
+            out.write(buffer, start + buffer.position());
+        }
+    }
+
+    private static void closeQuietly(FileChannel channel) {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // Fehler beim Aufräumen überdecken nicht den eigentlichen Fehler
+            }
+        }
+    }
+
+    // Kopf einer Datei, Kontext (zusätzliche AAD) und der abgeleitete Dateischlüssel
+    private static final class FileKey {
+        final byte[] header;
+        final byte[] context;
+        final SecretKeySpec key;
+
+        FileKey(byte[] header, byte[] context, SecretKeySpec key) {
+            this.header = header;
+            this.context = context;
+            this.key = key;
+        }
+    }
+
+    private interface SegmentTask {
+        void run(long index) throws IOException, GeneralSecurityException;
+    }
+
+    /*
+     * Segmentpuffer pro Thread für die parallele Verarbeitung. Sie werden nur ersetzt,
+     * wenn eine Datei mit größerer Segmentgröße verarbeitet wird.
+     */
+    private static final class Buffers {
+        private static final ThreadLocal<Buffers> CURRENT = new ThreadLocal<>();
+
+        final byte[] plain;
+        final byte[] sealed;
+
+        private Buffers(int size) {
+            plain = new byte[size];
+            sealed = new byte[size + TAG_SIZE];
+        }
+
+        static Buffers get(int size) {
+            Buffers buffers = CURRENT.get();
+            if (buffers == null || buffers.plain.length < size) {
+                buffers = new Buffers(size);
+                CURRENT.set(buffers);
+            }
+            return buffers;
+        }
+    }
+
+    /*
+     * Stream, der eine segmentierte GCM-Datei beim Lesen entschlüsselt.
+     * -----------------------------------------------------------------
+     * - Die Segmentanzahl ergibt sich aus der Dateigröße, so ist bekannt, welches Segment
+     *   das Ende-Flag tragen muss.
+     * - `read()` gibt zuerst das aktuelle (bereits geprüfte) Segment aus, dann wird das
+     *   nächste Segment gelesen, entschlüsselt und geprüft.
+     */
+    private final class DecryptingStream extends InputStream {
+        private final FileChannel source;
+        private final FileKey file;
+        private final int size;
+        private final long body;
+        private final long segments;
+        private final byte[] sealed;
+        private final byte[] plain;
+
+        private long index;
+        private int position;
+        private int limit;
+
+        DecryptingStream(FileChannel source, FileKey file) throws IOException {
+            this.source = source;
+            this.file = file;
+            this.size = headerSegmentSize(file.header);
+            this.body = source.size() - source.position();
+            this.segments = segmentCount(body, size);
+            this.sealed = new byte[size + TAG_SIZE];
+            this.plain = new byte[size];
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) == -1 ? -1 : one[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            while (position == limit) {
+                if (index == segments)
+                    return -1;
+                fill();
+            }
+            int n = Math.min(len, limit - position);
+            System.arraycopy(plain, position, b, off, n);
+            position += n;
+            return n;
+        }
+
+        @Override
+        public int available() {
+            return limit - position;
+        }
+
+        private void fill() throws IOException {
+            int length = (int) Math.min(size + TAG_SIZE, body - index * (size + (long) TAG_SIZE));
+            ByteBuffer buffer = ByteBuffer.wrap(sealed, 0, length);
+            while (buffer.hasRemaining()) {
+                if (source.read(buffer) < 0)
+                    throw new EOFException("Unexpected end of file!");
+            }
+            limit = open(file, index, index == segments - 1, sealed, length, plain);
+            position = 0;
+            index++;
+        }
+
+        @Override
+        public void close() throws IOException {
+            source.close();
+        }
+    }
+}
@@ -7,10 +7,68 @@ import javax.crypto.*;
 import javax.crypto.spec.IvParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.GeneralSecurityException;
+import java.security.InvalidAlgorithmParameterException;
+import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.LongStream;
 
 public class Symmetrisch {
 
+    /*
+     * Blockgröße für die Streaming-Varianten: Daten werden in Stücken dieser Größe
+     * durch `Cipher.update()` geschickt, der Speicherbedarf pro Datei bleibt dadurch konstant.
+     */
+    static final int CHUNK_SIZE = 64 * 1024;
+
+    /*
+     * Wiederverwendete Heap-Puffer pro Thread (Eingabe und Ausgabe der Cipher).
+     * `Cipher.update(ByteBuffer, ByteBuffer)` kopiert Direct- bzw. Mapped-Buffer im SunJCE-Provider
+     * bei jedem Aufruf in neu angelegte Heap-Arrays in Eingabegröße. Deshalb arbeiten alle Wege mit
+     * `update(byte[], int, int, byte[], int)` auf den Arrays dieser Puffer und erzeugen keinen Garbage.
+     */
+    private static final ThreadLocal<ByteBuffer> IN_BUFFER =
+            ThreadLocal.withInitial(() -> ByteBuffer.allocate(CHUNK_SIZE));
+    private static final ThreadLocal<ByteBuffer> OUT_BUFFER =
+            ThreadLocal.withInitial(() -> ByteBuffer.allocate(CHUNK_SIZE + 16));
+
+    /*
+     * Segmentgröße für die parallele Verarbeitung. Muss ein Vielfaches der AES-Blockgröße
+     * (16 Byte) sein, damit jedes Segment an einer Blockgrenze beginnt.
+     */
+    static final int SEGMENT_SIZE = 1024 * 1024;
+    static final int AES_BLOCK_SIZE = 16;
+
+    /*
+     * Fenstergröße für die Memory-Mapped-Variante: So viele Bytes von Quell- und Zieldatei
+     * werden gleichzeitig eingeblendet.
+     */
+    static final long MAP_WINDOW = 64L * 1024 * 1024;
+
+    /*
+     * Ein Cipher pro Thread. `Cipher` ist nicht thread-sicher; da jede Methode den Cipher vor
+     * der Verwendung mit Schlüssel und IV initialisiert, kann ein EncryptedFile-Objekt
+     * gleichzeitig von beliebig vielen Threads verwendet werden.
+     */
+    static final ThreadLocal<Cipher> CIPHER = ThreadLocal.withInitial(() -> {
+        try {
+            return Cipher.getInstance("AES/CTR/NoPadding");
+        } catch (NoSuchAlgorithmException | NoSuchPaddingException e) {
+            throw new IllegalStateException("Can't initialize cipher!", e);
+        }
+    });
+
     /**
      * Diese Klasse implementiert symmetrische Verschlüsselung und Entschlüsselung
      * mit dem AES-Algorithmus im CTR-Modus (Counter Mode).
@@ -22,9 +80,6 @@ public class Symmetrisch {
 
         public class EncryptedFile {
 
-            // Verschlüsselungs-Engine, die den AES-Algorithmus implementiert
-            private final Cipher cipher;
-
             // Geheimschlüssel für AES-Verschlüsselung
             private final SecretKey key;
 
@@ -32,7 +87,7 @@ public class Symmetrisch {
             private final IvParameterSpec iv;
 
             /**
-             * Konstruktor: Initialisiert das Cipher-Objekt, den Schlüssel und den IV.
+             * Konstruktor: Initialisiert den Schlüssel und den IV.
              *
              * @param keyString Hexadezimaler String für den AES-Schlüssel (32 Zeichen, 256 Bit)
              * @param ivString  Hexadezimaler String für den Initialisierungsvektor (32 Zeichen, 128 Bit)
@@ -46,8 +101,9 @@ public class Symmetrisch {
                     throw new IllegalArgumentException("Invalid init vector string! Der IV muss 32 Zeichen lang sein (128 Bit).");
 
                 try {
-                    // Initialisiert den Cipher mit AES im CTR-Modus ohne Padding
-                    cipher = Cipher.getInstance("AES/CTR/NoPadding");
+                    // Prüft, ob AES im CTR-Modus ohne Padding verfügbar ist
+                    // (die Cipher-Objekte selbst werden pro Thread erzeugt, siehe CIPHER)
+                    Cipher.getInstance("AES/CTR/NoPadding");
 
                     // Konvertiert den Schlüssel-String in ein Byte-Array und erzeugt das Schlüsselobjekt
                     byte[] keyBytes = Hex.decodeHex(keyString.toCharArray());
@@ -77,7 +133,8 @@ public class Symmetrisch {
                     throw new IllegalArgumentException("Invalid data! Die zu verschlüsselnden Daten dürfen nicht null sein.");
 
                 try {
-                    // Initialisiert den Cipher im ENCRYPT_MODE
+                    // Initialisiert den Cipher des aktuellen Threads im ENCRYPT_MODE
+                    Cipher cipher = CIPHER.get();
                     cipher.init(Cipher.ENCRYPT_MODE, key, iv);
 
                     // Verschlüsselt die Eingabedaten
@@ -105,7 +162,8 @@ public class Symmetrisch {
                     // Liest die verschlüsselten Daten aus der Datei
                     byte[] data = load(filename);
 
-                    // Initialisiert den Cipher im DECRYPT_MODE
+                    // Initialisiert den Cipher des aktuellen Threads im DECRYPT_MODE
+                    Cipher cipher = CIPHER.get();
                     cipher.init(Cipher.DECRYPT_MODE, key, iv);
 
                     // Entschlüsselt die geladenen Daten
@@ -116,6 +174,325 @@ public class Symmetrisch {
                 }
             }
 
+            /**
+             * Verschlüsselt einen Eingabestream blockweise und speichert ihn in einer Datei.
+             * Das Ergebnis ist byte-identisch mit {@link #saveEncrypted(String, byte[])},
+             * es wird aber nie die ganze Datei im Speicher gehalten.
+             *
+             * @param target Die Zieldatei für die verschlüsselten Daten.
+             * @param in     Die zu verschlüsselnden Daten (wird nicht geschlossen).
+             */
+            public void saveEncrypted(Path target, InputStream in) {
+                if (target == null)
+                    throw new IllegalArgumentException("Invalid filename. Der Dateiname darf nicht null sein!");
+
+                if (in == null)
+                    throw new IllegalArgumentException("Invalid data! Der Eingabestream darf nicht null sein.");
+
+                try (FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                    // Initialisiert den Cipher des aktuellen Threads im ENCRYPT_MODE
+                    Cipher cipher = CIPHER.get();
+                    cipher.init(Cipher.ENCRYPT_MODE, key, iv);
+
+                    // Liest, verschlüsselt und schreibt Block für Block
+                    transform(cipher, Channels.newChannel(in), out);
+                } catch (IOException e) {
+                    throw new IllegalStateException("Unable to save data to file!", e);
+                } catch (GeneralSecurityException e) {
+                    throw new IllegalStateException("Unable to encrypt data!", e);
+                }
+            }
+
+            /**
+             * Öffnet eine verschlüsselte Datei als Stream, der beim Lesen blockweise entschlüsselt.
+             *
+             * @param source Die verschlüsselte Datei.
+             * @return Ein InputStream mit den entschlüsselten Daten (muss geschlossen werden).
+             */
+            public InputStream openDecrypted(Path source) {
+                return Channels.newInputStream(openDecryptedChannel(source));
+            }
+
+            /**
+             * Öffnet eine verschlüsselte Datei als Channel, der beim Lesen blockweise entschlüsselt.
+             * Jeder Channel besitzt einen eigenen Cipher, damit er unabhängig von anderen Aufrufen
+             * auf diesem Objekt gelesen werden kann.
+             *
+             * @param source Die verschlüsselte Datei.
+             * @return Ein ReadableByteChannel mit den entschlüsselten Daten (muss geschlossen werden).
+             */
+            public ReadableByteChannel openDecryptedChannel(Path source) {
+                if (source == null)
+                    throw new IllegalArgumentException("Invalid filename! Der Dateiname darf nicht null sein.");
+
+                try {
+                    Cipher decrypt = Cipher.getInstance("AES/CTR/NoPadding");
+                    decrypt.init(Cipher.DECRYPT_MODE, key, iv);
+                    return new DecryptingChannel(FileChannel.open(source, StandardOpenOption.READ), decrypt);
+                } catch (IOException e) {
+                    throw new IllegalStateException("Unable to load data from file!", e);
+                } catch (GeneralSecurityException e) {
+                    throw new IllegalStateException("Unable to decrypt data!", e);
+                }
+            }
+
+            /**
+             * Komprimiert einen Eingabestream, verschlüsselt das Ergebnis und speichert es in einer Datei.
+             * <p>
+             * Dateiformat: [Codec-ID: 1 Byte][AES/CTR-verschlüsselte, komprimierte Daten].
+             * Die Kompression läuft streamend vor dem Cipher, es wird nie die ganze Datei gepuffert.
+             *
+             * @param target Die Zieldatei.
+             * @param in     Die zu verschlüsselnden Daten (wird nicht geschlossen).
+             * @param codec  Der Kompressions-Codec, z. B. {@link CompressionCodec#DEFLATE}.
+             */
+            public void saveCompressed(Path target, InputStream in, CompressionCodec codec) {
+                if (target == null)
+                    throw new IllegalArgumentException("Invalid filename. Der Dateiname darf nicht null sein!");
+
+                if (in == null || codec == null)
+                    throw new IllegalArgumentException("Invalid data! Eingabestream und Codec dürfen nicht null sein.");
+
+                try (OutputStream file = Files.newOutputStream(target)) {
+                    file.write(codec.getId());
+
+                    Cipher cipher = CIPHER.get();
+                    cipher.init(Cipher.ENCRYPT_MODE, key, iv);
+                    try (OutputStream out = new CipherOutputStream(file, cipher)) {
+                        codec.compress(in, out);
+                    }
+                } catch (IOException e) {
+                    throw new IllegalStateException("Unable to save data to file!", e);
+                } catch (GeneralSecurityException e) {
+                    throw new IllegalStateException("Unable to encrypt data!", e);
+                }
+            }
+
+            /**
+             * Entschlüsselt eine mit {@link #saveCompressed} gespeicherte Datei, dekomprimiert sie
+             * mit dem im Kopf angegebenen Codec und schreibt das Ergebnis in einen Ausgabestream.
+             *
+             * @param source Die verschlüsselte Datei.
+             * @param out    Ziel für die entschlüsselten Daten (wird nicht geschlossen).
+             */
+            public void loadCompressed(Path source, OutputStream out) {
+                if (source == null)
+                    throw new IllegalArgumentException("Invalid filename! Der Dateiname darf nicht null sein.");
+
+                if (out == null)
+                    throw new IllegalArgumentException("Invalid target! Der Ausgabestream darf nicht null sein.");
+
+                try (FileChannel file = FileChannel.open(source, StandardOpenOption.READ)) {
+                    ByteBuffer header = ByteBuffer.allocate(1);
+                    if (file.read(header) != 1)
+                        throw new EOFException("Missing compression header!");
+                    CompressionCodec codec = CompressionCodec.forId(header.get(0) & 0xff);
+
+                    Cipher cipher = CIPHER.get();
+                    cipher.init(Cipher.DECRYPT_MODE, key, iv);
+                    codec.decompress(Channels.newInputStream(new DecryptingChannel(file, cipher)), out);
+                } catch (IOException e) {
+                    throw new IllegalStateException("Unable to load data from file!", e);
+                } catch (GeneralSecurityException e) {
+                    throw new IllegalStateException("Unable to decrypt data!", e);
+                }
+            }
+
+            /**
+             * Liest und entschlüsselt nur einen Ausschnitt einer verschlüsselten Datei.
+             * <p>
+             * Im CTR-Modus hängt Block i nur von IV + i ab. Deshalb wird der Zähler direkt auf den
+             * Block gesetzt, in dem `offset` liegt, und es werden nur die benötigten Blöcke gelesen.
+             * Die Laufzeit hängt von `length` ab, nicht von der Dateigröße.
+             *
+             * @param filename Der Name der verschlüsselten Datei.
+             * @param offset   Position im Klartext, ab der gelesen wird.
+             * @param length   Anzahl der zu lesenden Bytes (am Dateiende entsprechend weniger).
+             * @return Die entschlüsselten Bytes des Ausschnitts.
+             */
+            public byte[] readDecrypted(String filename, long offset, int length) {
+                if (filename == null)
+                    throw new IllegalArgumentException("Invalid filename! Der Dateiname darf nicht null sein.");
+
+                if (offset < 0 || length < 0)
+                    throw new IllegalArgumentException("Invalid range! Offset und Länge dürfen nicht negativ sein.");
+
+                try (FileChannel in = FileChannel.open(Path.of(filename), StandardOpenOption.READ)) {
+                    long size = in.size();
+                    if (offset > size)
+                        throw new IllegalArgumentException("Invalid offset! Der Offset liegt hinter dem Dateiende.");
+
+                    // Erster benötigter Block und Abstand des Offsets zum Blockanfang
+                    long block = offset / AES_BLOCK_SIZE;
+                    int skip = (int) (offset % AES_BLOCK_SIZE);
+                    int count = (int) Math.min(length, size - offset);
+
+                    // Nur die benötigten Bytes ab dem Blockanfang lesen
+                    ByteBuffer data = ByteBuffer.allocate(skip + count);
+                    long position = block * AES_BLOCK_SIZE;
+                    while (data.hasRemaining()) {
+                        if (in.read(data, position + data.position()) < 0)
+                            throw new EOFException("Unexpected end of file!");
+                    }
+
+                    // Zähler auf den Block setzen, die Bytes vor dem Offset verwerfen
+                    Cipher cipher = CIPHER.get();
+                    cipher.init(Cipher.DECRYPT_MODE, key, ivForBlock(block));
+                    cipher.update(data.array(), 0, skip);
+                    return cipher.doFinal(data.array(), skip, count);
+                } catch (IOException e) {
+                    throw new IllegalStateException("Unable to load data from file!", e);
+                } catch (GeneralSecurityException e) {
+                    throw new IllegalStateException("Unable to decrypt data!", e);
+                }
+            }
+
+            /**
+             * Verschlüsselt eine Datei parallel auf dem gemeinsamen Fork/Join-Pool.
+             * Das Ergebnis ist byte-identisch mit dem sequentiellen Weg.
+             *
+             * @param source Die Klartext-Datei.
+             * @param target Die Zieldatei für die verschlüsselten Daten.
+             */
+            public void encryptParallel(Path source, Path target) {
+                transformParallel(source, target, Cipher.ENCRYPT_MODE, ForkJoinPool.commonPool());
+            }
+
+            /**
+             * Entschlüsselt eine Datei parallel auf dem gemeinsamen Fork/Join-Pool.
+             *
+             * @param source Die verschlüsselte Datei.
+             * @param target Die Zieldatei für die entschlüsselten Daten.
+             */
+            public void decryptParallel(Path source, Path target) {
+                transformParallel(source, target, Cipher.DECRYPT_MODE, ForkJoinPool.commonPool());
+            }
+
+            /**
+             * Parallele Ver- bzw. Entschlüsselung im CTR-Modus.
+             * <p>
+             * Im CTR-Modus wird Block i mit AES(key, IV + i) verknüpft. Kennt man den Zählerstand am
+             * Anfang eines Segments, kann jedes Segment unabhängig verarbeitet werden:
+             * <ul>
+             *   <li>Die Datei wird in Segmente zu SEGMENT_SIZE Bytes geteilt.</li>
+             *   <li>Für jedes Segment wird der IV um (Segmentanfang / 16) erhöht.</li>
+             *   <li>Jeder Worker liest sein Segment mit positionsbasiertem read() und schreibt das Ergebnis
+             *       mit positionsbasiertem write() direkt an dieselbe Stelle der Zieldatei.</li>
+             * </ul>
+             *
+             * @param pool Der Fork/Join-Pool, auf dem die Segmente verarbeitet werden.
+             */
+            public void transformParallel(Path source, Path target, int mode, ForkJoinPool pool) {
+                if (source == null || target == null)
+                    throw new IllegalArgumentException("Invalid filename! Der Dateiname darf nicht null sein.");
+
+                try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+                     FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE,
+                             StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                    long size = in.size();
+                    long segments = (size + SEGMENT_SIZE - 1) / SEGMENT_SIZE;
+
+                    pool.submit(() -> LongStream.range(0, segments).parallel().forEach(segment -> {
+                        long start = segment * SEGMENT_SIZE;
+                        long end = Math.min(size, start + SEGMENT_SIZE);
+                        try {
+                            Cipher segmentCipher = CIPHER.get();
+                            segmentCipher.init(mode, key, ivForBlock(start / AES_BLOCK_SIZE));
+                            transformRange(segmentCipher, in, out, start, end);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        } catch (GeneralSecurityException e) {
+                            throw new IllegalStateException("Unable to process segment " + segment + "!", e);
+                        }
+                    })).get();
+                } catch (IOException e) {
+                    throw new IllegalStateException("Unable to process file!", e);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Parallel processing was interrupted!", e);
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Unable to process file!", e.getCause());
+                }
+            }
+
+            /**
+             * Verschlüsselt eine Datei über Memory-Mapping (für sehr große Dateien).
+             *
+             * @param source Die Klartext-Datei.
+             * @param target Die Zieldatei für die verschlüsselten Daten.
+             */
+            public void encryptMapped(Path source, Path target) {
+                transformMapped(source, target, Cipher.ENCRYPT_MODE);
+            }
+
+            /**
+             * Entschlüsselt eine Datei über Memory-Mapping (für sehr große Dateien).
+             *
+             * @param source Die verschlüsselte Datei.
+             * @param target Die Zieldatei für die entschlüsselten Daten.
+             */
+            public void decryptMapped(Path source, Path target) {
+                transformMapped(source, target, Cipher.DECRYPT_MODE);
+            }
+
+            /**
+             * Ver- bzw. Entschlüsselung zwischen eingeblendeten Dateibereichen.
+             * <p>
+             * Quell- und Zieldatei werden fensterweise (MAP_WINDOW Bytes) mit `FileChannel.map()`
+             * eingeblendet, es gibt weder `readAllBytes()` noch Puffer in Dateigröße.
+             * <p>
+             * Die Fenster werden in CHUNK_SIZE-Stücken über die pro Thread wiederverwendeten Arrays
+             * (IN_BUFFER, OUT_BUFFER) geschickt, nicht direkt per `Cipher.update(ByteBuffer, ByteBuffer)`:
+             * Der Durchsatz bleibt gleich, es entsteht aber kein Garbage.
+             */
+            private void transformMapped(Path source, Path target, int mode) {
+                if (source == null || target == null)
+                    throw new IllegalArgumentException("Invalid filename! Der Dateiname darf nicht null sein.");
+
+                try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+                     FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                             StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                    Cipher cipher = CIPHER.get();
+                    cipher.init(mode, key, iv);
+
+                    byte[] input = IN_BUFFER.get().array();
+                    byte[] output = OUT_BUFFER.get().array();
+
+                    long size = in.size();
+                    for (long position = 0; position < size; position += MAP_WINDOW) {
+                        long length = Math.min(MAP_WINDOW, size - position);
+                        MappedByteBuffer inWindow = in.map(FileChannel.MapMode.READ_ONLY, position, length);
+                        MappedByteBuffer outWindow = out.map(FileChannel.MapMode.READ_WRITE, position, length);
+                        while (inWindow.hasRemaining()) {
+                            int n = Math.min(CHUNK_SIZE, inWindow.remaining());
+                            inWindow.get(input, 0, n);
+                            outWindow.put(output, 0, cipher.update(input, 0, n, output, 0));
+                        }
+                    }
+                    cipher.doFinal();
+                } catch (IOException e) {
+                    throw new IllegalStateException("Unable to process file!", e);
+                } catch (GeneralSecurityException e) {
+                    throw new IllegalStateException("Unable to process data!", e);
+                }
+            }
+
+            /**
+             * Berechnet den Zählerblock für einen Block-Index: IV + blockIndex als 128-Bit-Zahl
+             * (Big Endian), so wie AES/CTR den Zähler intern weiterzählt.
+             */
+            IvParameterSpec ivForBlock(long blockIndex) {
+                byte[] counter = iv.getIV();
+                long carry = blockIndex;
+                for (int i = counter.length - 1; i >= 0 && carry != 0; i--) {
+                    long sum = (counter[i] & 0xff) + (carry & 0xff);
+                    counter[i] = (byte) sum;
+                    carry = (carry >>> 8) + (sum >>> 8);
+                }
+                return new IvParameterSpec(counter);
+            }
+
             /**
              * Hilfsmethode: Speichert ein Byte-Array in einer Datei.
              *
@@ -146,4 +523,115 @@ public class Symmetrisch {
                 }
             }
         }
+
+    /*
+     * Schickt alle Daten aus `in` blockweise durch den (bereits initialisierten) Cipher nach `out`.
+     * Eingabe- und Ausgabepuffer sind Heap-Puffer, die pro Thread wiederverwendet werden.
+     */
+    static void transform(Cipher cipher, ReadableByteChannel in, WritableByteChannel out)
+            throws IOException, GeneralSecurityException {
+        ByteBuffer input = IN_BUFFER.get();
+        ByteBuffer output = OUT_BUFFER.get();
+
+        input.clear();
+        while (in.read(input) != -1) {
+            output.clear().limit(cipher.update(input.array(), 0, input.position(), output.array(), 0));
+            writeFully(out, output);
+            input.clear();
+        }
+        output.clear().limit(cipher.doFinal(output.array(), 0));
+        writeFully(out, output);
+    }
+
+    /*
+     * Schickt den Dateibereich [start, end) von `in` durch den Cipher und schreibt das Ergebnis
+     * an dieselbe Position in `out`. Nur positionsbasierte Zugriffe, daher thread-sicher.
+     */
+    static void transformRange(Cipher cipher, FileChannel in, FileChannel out, long start, long end)
+            throws IOException, GeneralSecurityException {
+        ByteBuffer input = IN_BUFFER.get();
+        ByteBuffer output = OUT_BUFFER.get();
+
+        long position = start;
+        while (position < end) {
+            input.clear().limit((int) Math.min(CHUNK_SIZE, end - position));
+            while (input.hasRemaining()) {
+                if (in.read(input, position + input.position()) < 0) {
+                    throw new EOFException("Unexpected end of file at " + (position + input.position()));
+                }
+            }
+            output.clear().limit(cipher.update(input.array(), 0, input.position(), output.array(), 0));
+            while (output.hasRemaining()) {
+                position += out.write(output, position);
+            }
+        }
+        cipher.doFinal(output.array(), 0);
+    }
+
+    static void writeFully(WritableByteChannel out, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+    }
+
+    /*
+     * Channel, der eine verschlüsselte Datei beim Lesen entschlüsselt.
+     * ----------------------------------------------------------------
+     * - Liest jeweils bis zu CHUNK_SIZE Bytes aus der Datei und entschlüsselt sie in einen Puffer
+     *   (Heap-Arrays, siehe IN_BUFFER: kein Garbage pro Block).
+     * - `read()` gibt zuerst diesen Puffer aus, bevor der nächste Block gelesen wird.
+     * - Am Dateiende wird `doFinal()` aufgerufen.
+     */
+    static final class DecryptingChannel implements ReadableByteChannel {
+        private final ReadableByteChannel source;
+        private final Cipher cipher;
+        private final ByteBuffer input = ByteBuffer.allocate(CHUNK_SIZE);
+        private final ByteBuffer output = ByteBuffer.allocate(CHUNK_SIZE + 16);
+        private boolean eof;
+
+        DecryptingChannel(ReadableByteChannel source, Cipher cipher) {
+            this.source = source;
+            this.cipher = cipher;
+            output.flip(); // leer, bereit zum Lesen
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            while (!output.hasRemaining()) {
+                if (eof) {
+                    return -1;
+                }
+                fill();
+            }
+            int n = Math.min(output.remaining(), dst.remaining());
+            dst.put(output.array(), output.position(), n);
+            output.position(output.position() + n);
+            return n;
+        }
+
+        private void fill() throws IOException {
+            input.clear();
+            output.clear();
+            try {
+                if (source.read(input) == -1) {
+                    eof = true;
+                    output.limit(cipher.doFinal(output.array(), 0));
+                } else {
+                    output.limit(cipher.update(input.array(), 0, input.position(), output.array(), 0));
+                }
+            } catch (GeneralSecurityException e) {
+                throw new IOException("Unable to decrypt data!", e);
+            }
+        }
+
+        @Override
+        public boolean isOpen() {
+            return source.isOpen();
+        }
+
+        @Override
+        public void close() throws IOException {
+            source.close();
+        }
     }
+}
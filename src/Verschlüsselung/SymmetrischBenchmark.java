@@ -0,0 +1,177 @@
+package Verschlüsselung;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/*
+ * Vergleicht den Array-Weg von `Symmetrisch.EncryptedFile` mit dem Streaming-Weg.
+ * -------------------------------------------------------------------------------
+ * Aufruf: java Verschlüsselung.SymmetrischBenchmark [Dateigröße in MiB] [Wiederholungen]
+ *
+ * - Array:     Files.readAllBytes + saveEncrypted(String, byte[]) / loadEncrypted(String)
+ * - Streaming: saveEncrypted(Path, InputStream) / openDecrypted(Path)
+ * - Parallel:  encryptParallel(Path, Path) / decryptParallel(Path, Path)
+ * - Mapped:    encryptMapped(Path, Path) / decryptMapped(Path, Path)
+ * - GCM:       `SegmentedGcmFile` (authentifiziert), streamend und parallel
+ *
+ * Ausgegeben werden der beste Durchsatz (MiB/s) aller Wiederholungen (die erste dient auch
+ * als Aufwärmphase für den JIT-Compiler) und der maximal zusätzlich belegte Heap-Speicher.
+ * Der Heap wird in einem eigenen, nicht gemessenen Durchlauf erfasst, damit weder `System.gc()`
+ * noch der Sampler-Thread den Durchsatz verfälschen.
+ * Bei Dateien im GB-Bereich scheitert der Array-Weg typischerweise mit einem OutOfMemoryError
+ * (die Datei liegt zweimal im Heap), das wird entsprechend ausgegeben.
+ */
+public class SymmetrischBenchmark {
+
+    private static int rounds = 3;
+
+    public static void main(String[] args) throws Exception {
+        int sizeMiB = args.length > 0 ? Integer.parseInt(args[0]) : 1024;
+        rounds = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+
+        Symmetrisch.EncryptedFile file = new Symmetrisch().new EncryptedFile(
+                "000102030405060708090a0b0c0d0e0f", "f0e0d0c0b0a090807060504030201000");
+
+        Path plain = Files.createTempFile("aes-benchmark", ".bin");
+        Path encrypted = Files.createTempFile("aes-benchmark", ".enc");
+        try {
+            createTestFile(plain, sizeMiB);
+            System.out.printf("Dateigröße: %d MiB, max. Heap: %d MiB%n",
+                    sizeMiB, Runtime.getRuntime().maxMemory() / (1024 * 1024));
+
+            if (run("Array     encrypt", sizeMiB,
+                    () -> file.saveEncrypted(encrypted.toString(), Files.readAllBytes(plain)))) {
+                run("Array     decrypt", sizeMiB,
+                        () -> file.loadEncrypted(encrypted.toString()));
+            }
+
+            run("Streaming encrypt", sizeMiB, () -> {
+                try (InputStream in = Files.newInputStream(plain)) {
+                    file.saveEncrypted(encrypted, in);
+                }
+            });
+            run("Streaming decrypt", sizeMiB, () -> {
+                try (InputStream in = file.openDecrypted(encrypted)) {
+                    in.transferTo(OutputStream.nullOutputStream());
+                }
+            });
+
+            Path decrypted = Files.createTempFile("aes-benchmark", ".dec");
+            try {
+                run("Parallel  encrypt", sizeMiB, () -> file.encryptParallel(plain, encrypted));
+                run("Parallel  decrypt", sizeMiB, () -> file.decryptParallel(encrypted, decrypted));
+            } finally {
+                Files.deleteIfExists(decrypted);
+            }
+
+            Path mappedDecrypted = Files.createTempFile("aes-benchmark", ".dec");
+            try {
+                run("Mapped    encrypt", sizeMiB, () -> file.encryptMapped(plain, encrypted));
+                run("Mapped    decrypt", sizeMiB, () -> file.decryptMapped(encrypted, mappedDecrypted));
+            } finally {
+                Files.deleteIfExists(mappedDecrypted);
+            }
+
+            SegmentedGcmFile gcm = new SegmentedGcmFile("000102030405060708090a0b0c0d0e0f");
+            run("GCM Str.  encrypt", sizeMiB, () -> {
+                try (InputStream in = Files.newInputStream(plain)) {
+                    gcm.saveEncrypted(encrypted, in);
+                }
+            });
+            run("GCM Str.  decrypt", sizeMiB, () -> {
+                try (InputStream in = gcm.openDecrypted(encrypted)) {
+                    in.transferTo(OutputStream.nullOutputStream());
+                }
+            });
+            Path gcmDecrypted = Files.createTempFile("aes-benchmark", ".dec");
+            try {
+                run("GCM Par.  encrypt", sizeMiB, () -> gcm.encryptParallel(plain, encrypted));
+                run("GCM Par.  decrypt", sizeMiB, () -> gcm.decryptParallel(encrypted, gcmDecrypted));
+            } finally {
+                Files.deleteIfExists(gcmDecrypted);
+            }
+        } finally {
+            Files.deleteIfExists(plain);
+            Files.deleteIfExists(encrypted);
+        }
+    }
+
+    /*
+     * Führt die Messung `rounds`-mal aus, danach einen weiteren Durchlauf nur für den Heap-Speicher.
+     * Liefert false, wenn der Heap nicht ausgereicht hat.
+     */
+    static boolean run(String name, int sizeMiB, Task task) throws Exception {
+        Runtime runtime = Runtime.getRuntime();
+        double best = 0;
+        try {
+            for (int r = 0; r < rounds; r++) {
+                System.gc();
+                long start = System.nanoTime();
+                task.run();
+                double seconds = (System.nanoTime() - start) / 1e9;
+                best = Math.max(best, sizeMiB / seconds);
+            }
+        } catch (OutOfMemoryError e) {
+            System.out.printf("%-20s OutOfMemoryError%n", name);
+            return false;
+        }
+
+        // Heap-Durchlauf: der Sampler-Thread läuft nur hier mit, die Zeit wird nicht gewertet
+        System.gc();
+        long before = runtime.totalMemory() - runtime.freeMemory();
+        HeapSampler sampler = new HeapSampler();
+        sampler.start();
+        try {
+            task.run();
+        } catch (OutOfMemoryError e) {
+            System.out.printf("%-20s OutOfMemoryError%n", name);
+            return false;
+        } finally {
+            sampler.interrupt();
+            sampler.join();
+        }
+        long peak = sampler.peak - before;
+        System.out.printf("%-20s %8.1f MiB/s   Heap +%6d MiB%n", name, best, peak / (1024 * 1024));
+        return true;
+    }
+
+    static void createTestFile(Path file, int sizeMiB) throws IOException {
+        byte[] block = new byte[1024 * 1024];
+        new Random(42).nextBytes(block);
+        try (OutputStream out = Files.newOutputStream(file)) {
+            for (int i = 0; i < sizeMiB; i++) {
+                out.write(block);
+            }
+        }
+    }
+
+    // Misst den belegten Heap während einer Messung in kurzen Abständen
+    private static final class HeapSampler extends Thread {
+        volatile long peak;
+
+        HeapSampler() {
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            Runtime runtime = Runtime.getRuntime();
+            while (!isInterrupted()) {
+                peak = Math.max(peak, runtime.totalMemory() - runtime.freeMemory());
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+    }
+
+    interface Task {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,237 @@
+package Verschlüsselung;
+
+import Encoding_Decoding.Codec;
+
+import javax.crypto.Cipher;
+import javax.crypto.KeyAgreement;
+import javax.crypto.Mac;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.SecureRandom;
+import java.security.spec.NamedParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.security.spec.XECPublicKeySpec;
+
+/*
+ * Klasse: X25519EncryptedFile
+ * ---------------------------
+ * Public-Key-Verschlüsselung mit elliptischen Kurven (ECIES-Verfahren) als Alternative zu RSA.
+ *
+ * Verschlüsseln:
+ * 1. Für jede Datei wird ein neues (ephemeres) X25519-Schlüsselpaar erzeugt.
+ * 2. Schlüsselvereinbarung (XDH) zwischen ephemerem privatem und dem öffentlichen Schlüssel
+ *    des Empfängers ergibt ein gemeinsames Geheimnis.
+ * 3. Aus dem Geheimnis wird mit HKDF-SHA256 ein AES-256-Schlüssel abgeleitet. Beide öffentlichen
+ *    Schlüssel gehen als Salt in die Ableitung ein.
+ * 4. Die Daten werden mit AES-GCM verschlüsselt (authentifiziert).
+ *
+ *     Datei: [Länge: 2 Byte][ephemerer öffentlicher Schlüssel (X.509)][Nonce: 12 Byte][Chiffretext + Tag]
+ *
+ * Entschlüsseln: gleiche Schlüsselvereinbarung mit dem eigenen privaten Schlüssel und dem
+ * ephemeren öffentlichen Schlüssel aus der Datei. Der Salt enthält dabei den eigenen öffentlichen
+ * Schlüssel (aus dem privaten berechnet), nicht den des Empfängers: Ein Objekt kann also an
+ * einen anderen Empfänger verschlüsseln und trotzdem an sich selbst adressierte Dateien öffnen.
+ *
+ * Gegenüber RSA-2048: Schlüsselerzeugung und Operationen mit dem privaten Schlüssel sind um
+ * Größenordnungen schneller, der Overhead pro Datei liegt bei 74 statt 256 Byte, und die
+ * Datenmenge ist nicht begrenzt.
+ */
+public class X25519EncryptedFile implements EncryptionEngine {
+
+    private static final String ALGORITHM = "X25519";
+    private static final int NONCE_SIZE = 12;
+    private static final int TAG_SIZE = 16;
+    private static final int KEY_SIZE = 32;
+    private static final int MAX_PUBLIC_KEY_SIZE = 256;
+    private static final byte[] HKDF_INFO = "SISO X25519 AES-256-GCM".getBytes(StandardCharsets.US_ASCII);
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    // Cipher, Mac, KeyAgreement und KeyPairGenerator sind nicht thread-sicher: je ein Objekt pro Thread
+    private static final ThreadLocal<Cipher> CIPHER = ThreadLocal.withInitial(() -> newInstance(() -> Cipher.getInstance("AES/GCM/NoPadding")));
+    private static final ThreadLocal<Mac> HMAC = ThreadLocal.withInitial(() -> newInstance(() -> Mac.getInstance("HmacSHA256")));
+    private static final ThreadLocal<KeyAgreement> AGREEMENT = ThreadLocal.withInitial(() -> newInstance(() -> KeyAgreement.getInstance(ALGORITHM)));
+    private static final ThreadLocal<KeyPairGenerator> GENERATOR = ThreadLocal.withInitial(() -> newInstance(() -> KeyPairGenerator.getInstance(ALGORITHM)));
+
+    private final PublicKey publicKey;   // Öffentlicher Schlüssel des Empfängers (zum Verschlüsseln)
+    private final PrivateKey privateKey; // Eigener privater Schlüssel (zum Entschlüsseln)
+    private final byte[] ownPublicKey;   // Eigener öffentlicher Schlüssel (X.509), passend zu privateKey
+
+    /**
+     * Konstruktor: Schlüssel als hexadezimale Strings (X.509 bzw. PKCS#8, wie bei `Asymetrisch`).
+     *
+     * @param publicKeyString  Der öffentliche X25519-Schlüssel.
+     * @param privateKeyString Der private X25519-Schlüssel.
+     */
+    public X25519EncryptedFile(String publicKeyString, String privateKeyString) {
+        if (publicKeyString == null || privateKeyString == null)
+            throw new IllegalArgumentException("Invalid key string! Die Schlüssel dürfen nicht null sein.");
+
+        try {
+            KeyFactory factory = KeyFactory.getInstance(ALGORITHM);
+            publicKey = factory.generatePublic(new X509EncodedKeySpec(Codec.fromHex(publicKeyString)));
+            privateKey = factory.generatePrivate(new PKCS8EncodedKeySpec(Codec.fromHex(privateKeyString)));
+            ownPublicKey = derivePublicKey(privateKey);
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException("Can't initialize X25519EncryptedFile object! Fehler beim Initialisieren der Schlüssel.", e);
+        }
+    }
+
+    public X25519EncryptedFile(PublicKey publicKey, PrivateKey privateKey) {
+        if (publicKey == null || privateKey == null)
+            throw new IllegalArgumentException("Invalid key! Die Schlüssel dürfen nicht null sein.");
+
+        this.publicKey = publicKey;
+        this.privateKey = privateKey;
+        try {
+            this.ownPublicKey = derivePublicKey(privateKey);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Can't initialize X25519EncryptedFile object! Ungültiger privater Schlüssel.", e);
+        }
+    }
+
+    // Erzeugt ein neues X25519-Schlüsselpaar.
+    public static KeyPair generateKeyPair() {
+        return GENERATOR.get().generateKeyPair();
+    }
+
+    @Override
+    public void saveEncrypted(String filename, byte[] data) {
+        if (filename == null || data == null)
+            throw new IllegalArgumentException("Invalid filename or data! Der Dateiname oder die Daten sind ungültig.");
+
+        try {
+            // 1. + 2. Ephemeres Schlüsselpaar und gemeinsames Geheimnis
+            KeyPair ephemeral = generateKeyPair();
+            byte[] ephemeralPublic = ephemeral.getPublic().getEncoded();
+            byte[] secret = agree(ephemeral.getPrivate(), publicKey);
+
+            // 3. AES-Schlüssel ableiten
+            SecretKeySpec key = deriveKey(secret, ephemeralPublic, publicKey.getEncoded());
+
+            // 4. Mit AES-GCM verschlüsseln, der Kopf wird als AAD mit authentifiziert
+            byte[] nonce = new byte[NONCE_SIZE];
+            RANDOM.nextBytes(nonce);
+            ByteBuffer out = ByteBuffer.allocate(2 + ephemeralPublic.length + NONCE_SIZE + data.length + TAG_SIZE);
+            out.putShort((short) ephemeralPublic.length).put(ephemeralPublic).put(nonce);
+
+            Cipher cipher = CIPHER.get();
+            cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_SIZE * 8, nonce));
+            cipher.updateAAD(out.array(), 0, out.position());
+            cipher.doFinal(ByteBuffer.wrap(data), out);
+
+            Files.write(Path.of(filename), out.array());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to encrypt data! Fehler beim Verschlüsseln der Daten.", e);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to save data to file! Fehler beim Speichern der Datei.", e);
+        }
+    }
+
+    @Override
+    public byte[] loadEncrypted(String filename) {
+        if (filename == null)
+            throw new IllegalArgumentException("Invalid filename! Der Dateiname darf nicht null sein.");
+
+        try {
+            byte[] file = Files.readAllBytes(Path.of(filename));
+            ByteBuffer in = ByteBuffer.wrap(file);
+
+            // Kopf lesen: ephemerer öffentlicher Schlüssel und Nonce
+            int length = file.length >= 2 ? in.getShort() & 0xffff : -1;
+            if (length < 1 || length > MAX_PUBLIC_KEY_SIZE || in.remaining() < length + NONCE_SIZE + TAG_SIZE)
+                throw new IllegalStateException("Unable to decrypt data! Ungültiger Dateikopf.");
+            byte[] ephemeralPublic = new byte[length];
+            byte[] nonce = new byte[NONCE_SIZE];
+            in.get(ephemeralPublic).get(nonce);
+            int headerLength = in.position();
+
+            // Gleiches Geheimnis wie beim Verschlüsseln, gleicher abgeleiteter Schlüssel
+            PublicKey ephemeral = KeyFactory.getInstance(ALGORITHM).generatePublic(new X509EncodedKeySpec(ephemeralPublic));
+            byte[] secret = agree(privateKey, ephemeral);
+            SecretKeySpec key = deriveKey(secret, ephemeralPublic, ownPublicKey);
+
+            Cipher cipher = CIPHER.get();
+            cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_SIZE * 8, nonce));
+            cipher.updateAAD(file, 0, headerLength);
+            return cipher.doFinal(file, headerLength, file.length - headerLength);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to decrypt data! Fehler beim Entschlüsseln der Daten.", e);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to load data from file! Fehler beim Laden der Datei.", e);
+        }
+    }
+
+    /*
+     * Hilfsmethoden
+     * -------------
+     */
+
+    private static byte[] agree(PrivateKey own, PublicKey other) throws GeneralSecurityException {
+        KeyAgreement agreement = AGREEMENT.get();
+        agreement.init(own);
+        agreement.doPhase(other, true);
+        return agreement.generateSecret();
+    }
+
+    /*
+     * Öffentlicher Schlüssel zu einem privaten: X25519(privat, Basispunkt u = 9). Die
+     * Schlüsselvereinbarung mit dem Basispunkt liefert genau die u-Koordinate (Little Endian).
+     */
+    private static byte[] derivePublicKey(PrivateKey privateKey) throws GeneralSecurityException {
+        KeyFactory factory = KeyFactory.getInstance(ALGORITHM);
+        PublicKey basePoint = factory.generatePublic(new XECPublicKeySpec(NamedParameterSpec.X25519, BigInteger.valueOf(9)));
+        byte[] u = agree(privateKey, basePoint);
+
+        byte[] bigEndian = new byte[u.length];
+        for (int i = 0; i < u.length; i++) {
+            bigEndian[i] = u[u.length - 1 - i];
+        }
+        return factory.generatePublic(new XECPublicKeySpec(NamedParameterSpec.X25519, new BigInteger(1, bigEndian))).getEncoded();
+    }
+
+    /*
+     * HKDF-SHA256 (RFC 5869) für einen 32-Byte-Schlüssel:
+     *     PRK = HMAC(Salt, Geheimnis)                   (Extract)
+     *     OKM = HMAC(PRK, Info || 0x01)                 (Expand, ein Block reicht für 32 Byte)
+     * Salt = ephemerer öffentlicher Schlüssel || öffentlicher Schlüssel des Empfängers.
+     */
+    private static SecretKeySpec deriveKey(byte[] secret, byte[] ephemeralPublic, byte[] recipientPublic)
+            throws GeneralSecurityException {
+        Mac mac = HMAC.get();
+        byte[] salt = ByteBuffer.allocate(ephemeralPublic.length + recipientPublic.length)
+                .put(ephemeralPublic).put(recipientPublic).array();
+        mac.init(new SecretKeySpec(salt, "HmacSHA256"));
+        byte[] prk = mac.doFinal(secret);
+
+        mac.init(new SecretKeySpec(prk, "HmacSHA256"));
+        mac.update(HKDF_INFO);
+        mac.update((byte) 1);
+        return new SecretKeySpec(mac.doFinal(), 0, KEY_SIZE, "AES");
+    }
+
+    private static <T> T newInstance(Factory<T> factory) {
+        try {
+            return factory.create();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Can't initialize " + ALGORITHM + " engine!", e);
+        }
+    }
+
+    private interface Factory<T> {
+        T create() throws GeneralSecurityException;
+    }
+}